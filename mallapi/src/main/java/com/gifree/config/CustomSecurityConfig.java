@@ -16,10 +16,13 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.gifree.security.PublicRoutes;
+import com.gifree.security.VerifiedTokenCache;
 import com.gifree.security.filter.JWTCheckFilter;
 import com.gifree.security.handler.APILoginFailHandler;
 import com.gifree.security.handler.APILoginSuccessHandler;
 import com.gifree.security.handler.CustomAccessDeniedHandler;
+import com.gifree.util.JWTUtil;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
@@ -32,6 +35,12 @@ import org.springframework.http.HttpStatus;// HttpStatus 임포트
 @EnableMethodSecurity// @PreAuthorize를 사용하려면 이게 설정이 되어있어야 한다. 
 public class CustomSecurityConfig {
 
+  private final JWTUtil jwtUtil;
+
+  private final VerifiedTokenCache tokenCache;
+
+  private final PublicRoutes publicRoutes;
+
     @Bean
   public PasswordEncoder passwordEncoder(){
     return new BCryptPasswordEncoder();
@@ -46,7 +55,10 @@ public class CustomSecurityConfig {
       httpSecurityCorsConfigurer.configurationSource(corsConfigurationSource());
     });
 
-http.authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+// 공개 경로는 JWTCheckFilter 와 같은 PublicRoutes 로 등록 (나머지도 아직은 permitAll, 권한은 @PreAuthorize 로 확인)
+http.authorizeHttpRequests(auth -> auth
+    .requestMatchers(publicRoutes).permitAll()
+    .anyRequest().permitAll());
 
 
     
@@ -55,13 +67,13 @@ http.authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
     http.csrf(config -> config.disable());
     http.formLogin(config ->{
       config.loginPage("/api/member/login");
-      config.successHandler(new APILoginSuccessHandler());
+      config.successHandler(new APILoginSuccessHandler(jwtUtil));
       config.failureHandler(new APILoginFailHandler());
     });
 
 
 
-    http.addFilterBefore(new JWTCheckFilter(), UsernamePasswordAuthenticationFilter.class); //JWT 체크
+    http.addFilterBefore(new JWTCheckFilter(jwtUtil, tokenCache, publicRoutes), UsernamePasswordAuthenticationFilter.class); //JWT 체크
 
      http.exceptionHandling(config -> { config.accessDeniedHandler(new CustomAccessDeniedHandler());
       //추가
@@ -0,0 +1,45 @@
+package com.gifree.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import com.gifree.repository.CartItemRepository;
+import com.gifree.service.CartCache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * 예전에는 장바구니를 조회할 때마다 기부 상품을 지웠으나, 이제는 담을 때 막으므로
+ * 그 전에 담겨 있던 기부 상품 아이템을 기동 시 한 번의 DELETE 로 정리한다.
+ * (지울 행이 없으면 아무것도 하지 않으므로 여러 번 실행해도 안전)
+ */
+@Component
+@Log4j2
+@RequiredArgsConstructor
+public class DonationCartPurgeRunner implements ApplicationRunner {
+
+  private final CartItemRepository cartItemRepository;
+
+  private final CartCache cartCache;
+
+  @Value("${com.gifree.cart.purge-donation-on-startup:true}")
+  private boolean enabled;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    if (!enabled) return;
+
+    try {
+      int removed = cartItemRepository.deleteDonationItems();
+      if (removed > 0) {
+        cartCache.clear();
+      }
+      log.info("donation cart items purged: {}", removed);
+    } catch (Exception e) {
+      log.warn("donation cart item purge skipped: {}", e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,46 @@
+package com.gifree.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+  // 주문 후속 작업(보관함, 랜덤박스) 처리용 스레드 풀
+  @Bean(name = "outboxExecutor")
+  public ThreadPoolTaskExecutor outboxExecutor(
+      @Value("${com.gifree.outbox.pool-size:4}") int poolSize,
+      @Value("${com.gifree.outbox.queue-capacity:1000}") int queueCapacity) {
+
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix("outbox-");
+    // 큐가 가득 차면 버림 - 작업은 DB 대기열에 남아 있으므로 다음 폴링 때 다시 처리됨
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    executor.setAwaitTerminationSeconds(10);
+    return executor;
+  }
+
+  // 업로드 이미지의 크기별 썸네일 생성용 (CPU 작업이므로 작게 유지)
+  @Bean(name = "thumbnailExecutor")
+  public ThreadPoolTaskExecutor thumbnailExecutor(
+      @Value("${com.gifree.thumbnail.pool-size:2}") int poolSize,
+      @Value("${com.gifree.thumbnail.queue-capacity:200}") int queueCapacity) {
+
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix("thumbnail-");
+    // 큐가 가득 차면 버림 - 원본으로 응답하다가 다음 요청 때 다시 예약됨
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+    return executor;
+  }
+}
@@ -0,0 +1,64 @@
+package com.gifree.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * OrderItem, Collection, CartItem 의 id 를 auto_increment 에서 시퀀스로 바꾸면서
+ * 이미 저장된 행의 최대 id 보다 시퀀스가 뒤에 있도록 기동 시 한 번 맞춰준다.
+ * (MariaDB 의 SETVAL 은 현재 값보다 작은 값은 무시하므로 여러 번 실행해도 안전)
+ *
+ * 웹 서버가 요청을 받기 시작하기 전(싱글톤 생성 직후, ddl-auto 로 시퀀스가 만들어진 뒤)에 실행해야
+ * 기동 중 들어온 주문이 맞추기 전의 시퀀스 값으로 기존 id 와 겹치지 않는다. 그래서 ApplicationRunner 가 아닌
+ * SmartInitializingSingleton 으로 실행한다.
+ */
+@Component
+@Log4j2
+@RequiredArgsConstructor
+public class SequenceAligner implements SmartInitializingSingleton {
+
+  // 시퀀스 이름 -> 테이블.id 컬럼 (allocationSize 는 엔티티와 같은 50)
+  private static final Map<String, String[]> SEQUENCES = Map.of(
+      "order_items_seq", new String[]{"order_items", "oino"},
+      "tbl_collection_seq", new String[]{"tbl_collection", "id"},
+      "tbl_cart_item_seq", new String[]{"tbl_cart_item", "cino"});
+
+  private static final int ALLOCATION_SIZE = 50;
+
+  private final DataSource dataSource;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    try (Connection connection = dataSource.getConnection()) {
+      String product = connection.getMetaData().getDatabaseProductName();
+      if (!product.toLowerCase().contains("mariadb") && !product.toLowerCase().contains("mysql")) return;
+    } catch (SQLException e) {
+      log.warn("sequence alignment skipped: {}", e.getMessage());
+      return;
+    }
+
+    SEQUENCES.forEach((sequence, target) -> {
+      try {
+        Long max = jdbcTemplate.queryForObject(
+            "select coalesce(max(" + target[1] + "), 0) from " + target[0], Long.class);
+        jdbcTemplate.queryForObject("select setval(" + sequence + ", " + (max + ALLOCATION_SIZE) + ")", Long.class);
+
+        log.info("sequence {} aligned past {}.{} = {}", sequence, target[0], target[1], max);
+      } catch (Exception e) {
+        log.warn("sequence {} alignment skipped: {}", sequence, e.getMessage());
+      }
+    });
+  }
+}
@@ -6,6 +6,8 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.gifree.dto.MemberDTO;
+import com.gifree.security.VerifiedTokenCache;
 import com.gifree.util.CustomJWTException;
 import com.gifree.util.JWTUtil;
 
@@ -17,6 +19,10 @@ import lombok.extern.log4j.Log4j2;
 @Log4j2
 public class APIRefreshController {
 
+  private final JWTUtil jwtUtil;
+
+  private final VerifiedTokenCache tokenCache;
+
   @RequestMapping("/api/member/refresh")
   public Map<String, Object> refresh(@RequestHeader("Authorization") String authHeader, String refreshToken){
 
@@ -30,19 +36,28 @@ public class APIRefreshController {
 
     String accessToken = authHeader.substring(7);
 
+    //Refresh토큰 검증 
+    Map<String, Object> claims = jwtUtil.validateToken(refreshToken);
+
+    // 회원 정보 변경 등으로 회수된 토큰이면 다시 로그인해야 함
+    MemberDTO member = MemberDTO.fromTokenClaims(claims);
+    if (tokenCache.isRevoked(member.getEmail(), JWTUtil.issuedAtMillis(claims))) {
+      throw new CustomJWTException("REVOKED_TOKEN");
+    }
+
     //Access 토큰이 만료되지 않았다면 
     if(checkExpiredToken(accessToken) == false ) {
       return Map.of("accessToken", accessToken, "refreshToken", refreshToken);
     }
 
-    //Refresh토큰 검증 
-    Map<String, Object> claims = JWTUtil.validateToken(refreshToken);
-
     log.info("refresh ... claims: " + claims);
 
-    String newAccessToken = JWTUtil.generateToken(claims, 60);
+    // 예전 형식의 refresh 토큰이어도 새 토큰은 짧은 claims 로 발급 (exp, iat 는 다시 계산)
+    Map<String, Object> tokenClaims = member.getTokenClaims();
+
+    String newAccessToken = jwtUtil.generateToken(tokenClaims, 60);
 
-    String newRefreshToken =  checkTime((Integer)claims.get("exp")) == true? JWTUtil.generateToken(claims, 60*24*14) : refreshToken;
+    String newRefreshToken =  checkTime((Integer)claims.get("exp")) == true? jwtUtil.generateToken(tokenClaims, 60*24*14) : refreshToken;
 
     return Map.of("accessToken", newAccessToken, "refreshToken", newRefreshToken);
 
@@ -67,7 +82,7 @@ public class APIRefreshController {
   private boolean checkExpiredToken(String token) {
 
     try{
-      JWTUtil.validateToken(token);
+      jwtUtil.validateToken(token);
     }catch(CustomJWTException ex) {
       if(ex.getMessage().equals("Expired")){
           return true;
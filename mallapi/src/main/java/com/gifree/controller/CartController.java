@@ -50,6 +50,16 @@ public List<CartItemListDTO> changeCart(@RequestBody CartItemDTO itemDTO,
     return cartService.addOrModify(itemDTO);
 }
 
+  // 여러 상품을 한 번에 담기/수량 변경/삭제 (qty 0 이하는 삭제) 후 최종 장바구니 반환
+  @PreAuthorize("isAuthenticated()")
+  @PostMapping("/bulk")
+  public List<CartItemListDTO> changeCartBulk(@RequestBody List<CartItemDTO> itemDTOs, Principal principal) {
+
+    log.info("cart bulk change - items: " + itemDTOs.size());
+
+    return cartService.changeAll(principal.getName(), itemDTOs);
+  }
+
   @GetMapping("/items")
   public List<CartItemListDTO> getCartItems(Principal principal){
 
@@ -30,6 +30,10 @@ public class EventController {
 
   @GetMapping
 public ResponseEntity<PageResponseDTO<Event>> getEventList(PageRequestDTO requestDTO) {
+    if (requestDTO.getAfter() != null) {
+        return ResponseEntity.ok(eventService.getCursorList(requestDTO));
+    }
+
     List<Event> list = eventService.getList(requestDTO);
     long total = eventService.getTotalCount();
 
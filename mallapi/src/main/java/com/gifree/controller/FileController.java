@@ -1,12 +1,14 @@
 package com.gifree.controller;
 
 import com.gifree.util.CustomFileUtil;
+import com.gifree.util.StreamingMultipartReader;
+
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.core.io.Resource;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 
@@ -17,11 +19,12 @@ import java.util.List;
 public class FileController {
 
     private final CustomFileUtil customFileUtil;
+    private final StreamingMultipartReader multipartReader;
 
-    // 여러 파일 업로드 처리
+    // 여러 파일 업로드 처리 ("files" 파트를 임시 파일 없이 업로드 폴더로 바로 저장)
     @PostMapping("/upload")
-    public List<String> uploadFiles(@RequestParam("files") List<MultipartFile> files) {
-        return customFileUtil.saveFiles(files);
+    public List<String> uploadFiles(HttpServletRequest request) {
+        return multipartReader.read(request, "files").fileNames();
     }
 
     // 파일 다운로드
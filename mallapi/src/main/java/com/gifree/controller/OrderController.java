@@ -6,6 +6,8 @@ import org.springframework.web.bind.annotation.*;
 
 import com.gifree.dto.OrderRequestDTO;
 import com.gifree.dto.OrderResponseDTO;
+import com.gifree.dto.PageRequestDTO;
+import com.gifree.dto.PageResponseDTO;
 import com.gifree.service.OrderService;
 
 import lombok.RequiredArgsConstructor;
@@ -54,6 +56,13 @@ public class OrderController {
         return ResponseEntity.ok(orderHistory);
     }
 
+    // 구매내역 페이지 조회 (?page=1&size=10, 최신 주문순)
+    @GetMapping("/history/list")
+    public ResponseEntity<PageResponseDTO<OrderResponseDTO>> getOrderHistoryPage(
+            Principal principal, PageRequestDTO pageRequestDTO) {
+        return ResponseEntity.ok(orderService.getOrderHistoryPage(principal.getName(), pageRequestDTO));
+    }
+
     // 디버깅용: 모든 OrderItem 조회
     @GetMapping("/debug/items")
     public ResponseEntity<?> getAllOrderItems() {
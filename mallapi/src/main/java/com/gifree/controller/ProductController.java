@@ -1,11 +1,14 @@
 package com.gifree.controller;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
-import org.springframework.core.io.Resource;
+import org.springframework.beans.MutablePropertyValues;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.DataBinder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -14,8 +17,12 @@ import com.gifree.dto.PageResponseDTO;
 import com.gifree.dto.ProductDTO;
 import com.gifree.service.ProductService;
 import com.gifree.util.CustomFileUtil;
+import com.gifree.util.StreamingMultipartReader;
+import com.gifree.util.ThumbnailGenerator;
 import com.gifree.dto.StoreDTO;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 
@@ -27,16 +34,25 @@ public class ProductController {
 
     private final CustomFileUtil fileUtil;
     private final ProductService productService;
+    private final ThumbnailGenerator thumbnailGenerator;
+    private final StreamingMultipartReader multipartReader;
 
-    /** 상품 등록 */
+    /** 상품 등록 (이미지는 multipart 본문을 읽는 대로 업로드 폴더에 저장) */
     @PostMapping
-    public Map<String, Long> register(@ModelAttribute ProductDTO productDTO) {
+    public Map<String, Long> register(HttpServletRequest request) {
+        StreamingMultipartReader.Upload upload = multipartReader.read(request, "files");
+
+        // @ModelAttribute 와 같은 방식으로 폼 필드를 바인딩
+        ProductDTO productDTO = new ProductDTO();
+        DataBinder binder = new DataBinder(productDTO);
+        binder.setDisallowedFields("files", "uploadFileNames");
+        MutablePropertyValues values = new MutablePropertyValues();
+        upload.fields().forEach((name, fieldValues) -> values.add(name, fieldValues.toArray(String[]::new)));
+        binder.bind(values);
+
+        productDTO.setUploadFileNames(new ArrayList<>(upload.fileNames()));
         log.info("REGISTER DTO: " + productDTO);
 
-        List<MultipartFile> files = productDTO.getFiles();
-        List<String> uploadFileNames = fileUtil.saveFiles(files);
-        productDTO.setUploadFileNames(uploadFileNames);
-
         Long pno = productService.register(productDTO);
 
         return Map.of("result", pno);
@@ -85,10 +101,20 @@ public class ProductController {
         return Map.of("RESULT", "SUCCESS");
     }
 
-    /** 이미지 뷰 */
+    /** 이미지 뷰 (ETag/immutable 캐시, 304, Range, sendfile) */
     @GetMapping("/view/{fileName}")
-    public ResponseEntity<Resource> viewFileGET(@PathVariable String fileName) {
-        return fileUtil.getFile(fileName);
+    public void viewFileGET(@PathVariable String fileName, HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+        fileUtil.sendFile(fileName, request, response);
+    }
+
+    /** 썸네일 생성 상태와 크기별 이미지 파일명 (아직 없는 크기는 원본 파일명) */
+    @GetMapping("/thumbnails/{fileName}")
+    public Map<String, Object> thumbnailStatus(@PathVariable String fileName) {
+        return Map.of(
+                "fileName", fileName,
+                "status", thumbnailGenerator.status(fileName),
+                "variants", thumbnailGenerator.variants(fileName));
     }
 
     /** 상품 리스트 (페이징) */
@@ -15,8 +15,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import com.gifree.domain.RandomBoxChance;
 import com.gifree.domain.Collection;
 import com.gifree.service.RandomBoxChanceService;
-import com.gifree.repository.MemberRepository;
-import com.gifree.domain.Member;
+import com.gifree.security.MemberPrincipalCache;
 import com.gifree.domain.MemberRole;
 
 import lombok.RequiredArgsConstructor;
@@ -29,7 +28,7 @@ import lombok.extern.log4j.Log4j2;
 public class RandomBoxChanceController {
     
     private final RandomBoxChanceService randomBoxChanceService;
-    private final MemberRepository memberRepository;
+    private final MemberPrincipalCache memberPrincipalCache;
     
     @PreAuthorize("isAuthenticated()")
     @GetMapping("/chances")
@@ -92,8 +91,8 @@ public class RandomBoxChanceController {
             @RequestParam int count) {
         // 1. 관리자 여부 확인
         String adminEmail = principal.getName();
-        Member admin = memberRepository.getWithRoles(adminEmail);
-        boolean isAdmin = admin.getMemberRoleList().contains(MemberRole.ADMIN);
+        MemberPrincipalCache.Principal admin = memberPrincipalCache.get(adminEmail);
+        boolean isAdmin = admin != null && admin.hasRole(MemberRole.ADMIN);
         if (!isAdmin) {
             return ResponseEntity.status(403).body("관리자만 사용할 수 있습니다.");
         }
@@ -18,6 +18,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 public class SocialController {
     
     private final MemberService memberService;
+    private final JWTUtil jwtUtil;
 
     /**
      * 프론트에서 전달받은 카카오 AccessToken으로
@@ -30,8 +31,8 @@ public class SocialController {
         Map<String,Object> claims = memberDTO.getClaims();
 
         // JWT 토큰 생성
-        String jwtAccessToken  = JWTUtil.generateToken(claims, 60);    // 10분
-        String jwtRefreshToken = JWTUtil.generateToken(claims, 60 * 24 * 14); // 1시간
+        String jwtAccessToken  = jwtUtil.generateToken(memberDTO.getTokenClaims(), 60);    // 10분
+        String jwtRefreshToken = jwtUtil.generateToken(memberDTO.getTokenClaims(), 60 * 24 * 14); // 1시간
 
         claims.put("accessToken", jwtAccessToken);
         claims.put("refreshToken", jwtRefreshToken);
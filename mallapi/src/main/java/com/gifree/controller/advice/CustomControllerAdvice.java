@@ -10,6 +10,10 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import com.gifree.util.CustomJWTException;
+import com.gifree.util.InvalidCartChangeException;
+import com.gifree.util.InvalidCursorException;
+import com.gifree.util.MalformedUploadException;
+import com.gifree.util.ProductSoldOutException;
 
 /**
  * CustomControllerAdvice
@@ -34,6 +38,42 @@ public class CustomControllerAdvice {
       return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).body(Map.of("msg", msg));
   }
 
+  // 목록 조회의 잘못된 after 커서
+  @ExceptionHandler(InvalidCursorException.class)
+  protected ResponseEntity<?> handleInvalidCursor(InvalidCursorException e) {
+
+      String msg = String.valueOf(e.getMessage());
+
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("msg", msg));
+  }
+
+  // 장바구니에 담을 수 없는 상품(기부 상품)이나 잘못된 변경 요청
+  @ExceptionHandler(InvalidCartChangeException.class)
+  protected ResponseEntity<?> handleInvalidCartChange(InvalidCartChangeException e) {
+
+      String msg = String.valueOf(e.getMessage());
+
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("msg", msg));
+  }
+
+  // multipart 가 아니거나 형식이 잘못된 업로드 요청
+  @ExceptionHandler(MalformedUploadException.class)
+  protected ResponseEntity<?> handleMalformedUpload(MalformedUploadException e) {
+
+      String msg = String.valueOf(e.getMessage());
+
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("msg", msg));
+  }
+
+  // 동시에 주문되어 이미 판매된 상품
+  @ExceptionHandler(ProductSoldOutException.class)
+  protected ResponseEntity<?> handleSoldOut(ProductSoldOutException e) {
+
+      String msg = e.getMessage();
+
+      return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("msg", msg, "pnos", e.getPnos()));
+  }
+
    @ExceptionHandler(CustomJWTException.class)
   protected ResponseEntity<?> handleJWTException(CustomJWTException e) {
 
@@ -16,7 +16,9 @@ import lombok.*;
 public class CartItem {
   
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cart_item_seq_gen")
+  // 여러 상품을 한 번에 담을 때 INSERT 를 JDBC batch 로 묶기 위해 pooled 시퀀스 사용 (SequenceAligner 참고)
+  @SequenceGenerator(name = "cart_item_seq_gen", sequenceName = "tbl_cart_item_seq", allocationSize = 50)
   private Long cino;
 
   @ManyToOne// 카트에 담기는 아이템은 여러개이고 제품은 1개.
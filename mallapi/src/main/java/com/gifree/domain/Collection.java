@@ -15,7 +15,9 @@ import java.time.LocalDateTime;
 public class Collection {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "collection_seq_gen")
+    // 구매 시 여러 건을 한 번에 저장하므로 pooled 시퀀스 사용 (SequenceAligner 참고)
+    @SequenceGenerator(name = "collection_seq_gen", sequenceName = "tbl_collection_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
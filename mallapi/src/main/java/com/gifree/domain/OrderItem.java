@@ -12,7 +12,9 @@ import lombok.*;
 public class OrderItem {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_seq_gen")
+    // 한 번에 50개씩 id 를 할당받아 INSERT 를 JDBC batch 로 묶음 (기존 auto_increment 값과의 정렬은 SequenceAligner)
+    @SequenceGenerator(name = "order_item_seq_gen", sequenceName = "order_items_seq", allocationSize = 50)
     private Long oino; // 주문 아이템 번호
     
     @ManyToOne(fetch = FetchType.EAGER)
@@ -0,0 +1,101 @@
+package com.gifree.domain;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 주문 후속 작업(보관함 추가, 랜덤박스 기회 지급) 대기열.
+ * 주문과 같은 트랜잭션에서 저장하고, OrderOutboxWorker 가 커밋 이후 백그라운드에서 처리한다.
+ * idempotencyKey(작업 종류 + 주문 번호)가 유일하므로 같은 주문의 같은 작업은 한 번만 쌓인다.
+ */
+@Entity
+@Table(name = "tbl_order_outbox", indexes = {
+    // 처리 대상(PENDING & 재시도 시각 도래) 조회용
+    @Index(name = "idx_order_outbox_due", columnList = "status, next_attempt_at")
+})
+@Getter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderOutbox {
+
+    public enum Type { COLLECTION, RANDOMBOX }
+
+    public enum Status { PENDING, DONE, FAILED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Type type;
+
+    @Column(nullable = false, unique = true, length = 50)
+    private String idempotencyKey;
+
+    @Column(nullable = false)
+    private Long ono;
+
+    @Column(nullable = false)
+    private String memberEmail;
+
+    // 랜덤박스 지급 시 로그용 구매 금액 (기부 상품 제외)
+    private int amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // 처리 중인 워커의 임대 토큰 - 이 값이 일치할 때만 완료/실패로 바꿀 수 있음
+    @Column(length = 36)
+    private String claimToken;
+
+    @Column(length = 500)
+    private String lastError;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime processedAt;
+
+    public static OrderOutbox of(Type type, Order order, int amount) {
+        return OrderOutbox.builder()
+                .type(type)
+                .idempotencyKey(type + ":" + order.getOno())
+                .ono(order.getOno())
+                .memberEmail(order.getMemberEmail())
+                .amount(amount)
+                .status(Status.PENDING)
+                .build();
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+}
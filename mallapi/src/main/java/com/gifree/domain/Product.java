@@ -7,7 +7,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "tbl_product")
+@Table(name = "tbl_product", indexes = {
+    // 판매중 상품 가격 조건 조회 (랜덤박스 후보)
+    @Index(name = "idx_product_del_price", columnList = "del_flag, price"),
+    // 기부 전용 상품(pname, brand 모두 '기부') 조회 - DonationProductResolver (pno 는 인덱스에 포함되어 정렬도 인덱스로 처리)
+    @Index(name = "idx_product_pname_brand", columnList = "pname, brand")
+})
 @Getter
 @ToString(exclude = "imageList")
 @Builder
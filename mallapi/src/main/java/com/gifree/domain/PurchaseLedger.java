@@ -0,0 +1,44 @@
+package com.gifree.domain;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 회원별 누적 구매 금액 (기부 상품 제외).
+ * 주문할 때 같은 트랜잭션에서 증가시키고, 랜덤박스 기회 계산은 이 값만 읽는다.
+ */
+@Entity
+@Table(name = "tbl_purchase_ledger")
+@Getter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PurchaseLedger {
+
+    @Id
+    private String memberEmail;
+
+    @Column(nullable = false)
+    private long totalAmount;
+
+    @Column(nullable = false)
+    private LocalDateTime lastUpdated;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        lastUpdated = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,48 @@
+package com.gifree.domain;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 내용 해시로 이름을 붙여 저장한 업로드 파일과 참조 수.
+ * 같은 이미지를 여러 번 올려도 파일은 하나만 두고, 상품 이미지 / 이벤트 이미지 / 기부 게시글 이미지 /
+ * 기부 상품 이미지가 참조할 때마다 refCount 를 올린다. 참조가 모두 없어지면 파일과 함께 삭제한다.
+ */
+@Entity
+@Table(name = "tbl_stored_file")
+@Getter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class StoredFile {
+
+    // 저장 파일명 (sha256 + 확장자)
+    @Id
+    @Column(length = 100)
+    private String fileName;
+
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    private long size;
+
+    private int refCount;
+
+    // 마지막으로 업로드된 시각 - 업로드 직후 아직 엔티티에 붙지 않은 파일은 참조 수가 0이어도 지우지 않음
+    @Column(nullable = false)
+    private LocalDateTime uploadedAt;
+
+    public void touch() {
+        this.uploadedAt = LocalDateTime.now();
+    }
+}
@@ -6,6 +6,8 @@ import java.util.stream.Collectors;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 
+import com.gifree.domain.MemberRole;
+
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -56,4 +58,57 @@ public class MemberDTO extends User {
     return dataMap;
   }
 
+  // access / refresh 토큰에 넣는 최소 claims - sub(email), nn(nickname), sc(social), rl(권한 비트마스크: MemberRole 순서)
+  // 매 요청 Authorization 헤더로 오가므로 비밀번호 해시는 넣지 않고 이름을 짧게 둔다.
+  public Map<String, Object> getTokenClaims() {
+
+    Map<String, Object> dataMap = new HashMap<>();
+
+    dataMap.put("sub", email);
+    dataMap.put("nn", nickname);
+    dataMap.put("sc", social);
+    dataMap.put("rl", roleBits(roleNames));
+
+    return dataMap;
+  }
+
+  // 토큰 claims -> MemberDTO (비밀번호는 비워 둠). email/roleNames 를 담은 예전 형식의 토큰도 받는다.
+  public static MemberDTO fromTokenClaims(Map<String, Object> claims) {
+
+    if (!claims.containsKey("sub")) {
+      @SuppressWarnings("unchecked")
+      List<String> roles = (List<String>) claims.getOrDefault("roleNames", List.of());
+
+      return new MemberDTO(
+          (String) claims.get("email"),
+          "",
+          (String) claims.get("nickname"),
+          Boolean.TRUE.equals(claims.get("social")),
+          roles.stream().map(role -> role.startsWith("ROLE_") ? role.substring(5) : role).collect(Collectors.toList()));
+    }
+
+    int bits = ((Number) claims.getOrDefault("rl", 0)).intValue();
+    List<String> roles = new ArrayList<>();
+    for (MemberRole role : MemberRole.values()) {
+      if ((bits & (1 << role.ordinal())) != 0) {
+        roles.add(role.name());
+      }
+    }
+
+    return new MemberDTO(
+        (String) claims.get("sub"),
+        "",
+        (String) claims.get("nn"),
+        Boolean.TRUE.equals(claims.get("sc")),
+        roles);
+  }
+
+  private static int roleBits(List<String> roleNames) {
+    int bits = 0;
+    for (String roleName : roleNames) {
+      bits |= 1 << MemberRole.valueOf(roleName).ordinal();
+    }
+    return bits;
+  }
+
 }
\ No newline at end of file
@@ -19,5 +19,8 @@ public class PageRequestDTO {
   private int size = 10;
 
   private String keyword;
+
+  // 커서 페이징: 값이 있으면(빈 문자열 포함) page 대신 이 커서 다음부터 조회하고 전체 개수는 세지 않는다
+  private String after;
   
 }
\ No newline at end of file
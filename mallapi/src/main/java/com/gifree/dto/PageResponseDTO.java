@@ -21,6 +21,9 @@ public class PageResponseDTO<E> {
 
   private int totalCount, prevPage, nextPage, totalPage, current;
 
+  // 커서 페이징일 때 다음 페이지 요청에 after 로 넘길 값 (마지막 페이지면 null)
+  private String nextCursor;
+
   @Builder(builderMethodName = "withAll")
   public PageResponseDTO(List<E> dtoList, PageRequestDTO pageRequestDTO, long totalCount) {
 
@@ -56,4 +59,15 @@ public class PageResponseDTO<E> {
     this.current = pageRequestDTO.getPage();
 
   }
-}
\ No newline at end of file
+
+  // 커서 페이징 응답 - count 쿼리 없이 다음 페이지 존재 여부만 알려준다
+  @Builder(builderMethodName = "withCursor", builderClassName = "CursorBuilder")
+  public PageResponseDTO(List<E> dtoList, PageRequestDTO pageRequestDTO, String nextCursor) {
+
+    this.dtoList = dtoList;
+    this.pageRequestDTO = pageRequestDTO;
+    this.nextCursor = nextCursor;
+    this.next = nextCursor != null;
+    this.pageNumList = List.of();
+  }
+}
@@ -34,4 +34,24 @@ public class ProductDTO {
     
     // 이미지 URL 필드 추가
     private String imageUrl;
+
+    // 등록된 이미지 개수 (목록 조회 시)
+    private int imageCount;
+
+    // 목록 조회용 프로젝션 생성자 (첫 번째 이미지 파일명과 이미지 개수를 함께 조회)
+    public ProductDTO(Long pno, String brand, String pname, int price, Integer discountRate, Integer salePrice,
+            String pdesc, boolean delFlag, String fileName, Integer imageCount) {
+        this.pno = pno;
+        this.brand = brand;
+        this.pname = pname;
+        this.price = price;
+        this.discountRate = discountRate;
+        this.salePrice = salePrice;
+        this.pdesc = pdesc;
+        this.delFlag = delFlag;
+        this.files = new ArrayList<>();
+        this.uploadFileNames = fileName != null ? List.of(fileName) : List.of();
+        this.imageUrl = fileName != null ? "http://localhost:8080/api/products/view/" + fileName : null;
+        this.imageCount = imageCount != null ? imageCount : 0;
+    }
 }
@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.gifree.domain.Cart;
 import com.gifree.domain.CartItem;
 import com.gifree.dto.CartItemListDTO;
 
@@ -49,7 +50,39 @@ public interface CartItemRepository extends JpaRepository<CartItem, Long>{
   @Query("delete from CartItem ci " +
   " where ci in (select ci2 from CartItem ci2 inner join Cart c on ci2.cart = c " +
   "              where c.owner.email = :email and ci2.product.pno = :pno)")
-  public void deleteAllByEmailAndPno(@Param("email") String email, @Param("pno") Long pno);
+  public int deleteAllByEmailAndPno(@Param("email") String email, @Param("pno") Long pno);
+
+  // 아이템을 담은 회원 email (장바구니 캐시 갱신용)
+  @Query("select c.owner.email from Cart c inner join CartItem ci on ci.cart = c where ci.cino = :cino")
+  public String getEmailFromItem(@Param("cino") Long cino);
+
+  // 새로 담은 아이템 하나의 목록 행 (장바구니 캐시에 바로 추가)
+  @Query("select new com.gifree.dto.CartItemListDTO(ci.cino,  ci.qty,  p.pno, p.pname, p.price, p.salePrice, p.discountRate, " +
+  "   case when pi.ord = 0 then pi.fileName else null end)  " +
+  " from " +
+  "   CartItem ci left join Product p on ci.product = p " +
+  "   left join p.imageList pi" +
+  " where " +
+  "   ci.cino = :cino " +
+  "   and (p.brand != '기부' or p.brand is null) " +
+  "   and (p.pname != '기부' or p.pname is null) ")
+  public List<CartItemListDTO> getItemDTOsOfItem(@Param("cino") Long cino);
+
+  // 일괄 변경 대상 아이템 + 상품을 한 번에 조회
+  @Query("select ci from CartItem ci join fetch ci.product p where ci.cart = :cart and p.pno in :pnos")
+  public List<CartItem> getItemsOfCart(@Param("cart") Cart cart, @Param("pnos") List<Long> pnos);
+
+  // 일괄 변경 중 삭제 대상(수량 0 이하)을 한 번의 DELETE 로 처리
+  @Modifying
+  @Query("delete from CartItem ci where ci.cart = :cart and ci.product.pno in :pnos")
+  public int deleteAllOfCart(@Param("cart") Cart cart, @Param("pnos") List<Long> pnos);
+
+  // 기부 관련 상품(brand 또는 pname 이 '기부')이 담긴 아이템을 한 번에 삭제 - DonationCartPurgeRunner
+  @Modifying
+  @Transactional
+  @Query("delete from CartItem ci where ci.product.pno in " +
+  "  (select p.pno from Product p where p.brand = '기부' or p.pname = '기부')")
+  public int deleteDonationItems();
 
   @Query("select " + 
   "  c.cno " +
@@ -30,4 +30,8 @@ public interface CollectionRepository extends JpaRepository<Collection, Long> {
 
     // 사용자별 보관함 삭제
     void deleteByMemberEmailAndPno(String memberEmail, Long pno);
-} 
\ No newline at end of file
+
+    // 업로드 파일 정리 - 주어진 파일명 중 보관함 이미지로 쓰이는 것
+    @Query("SELECT DISTINCT c.uploadFileNames FROM Collection c WHERE c.uploadFileNames IN :fileNames")
+    List<String> selectReferencedFiles(@Param("fileNames") List<String> fileNames);
+}
@@ -3,15 +3,37 @@ package com.gifree.repository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import com.gifree.domain.DonationBoard;
 import com.gifree.domain.DonationCategory;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query; // Query 어노테이션 import
+import org.springframework.data.repository.query.Param;
 
 public interface DonationBoardRepository extends JpaRepository<DonationBoard, Long>{
-    @Query("SELECT db FROM DonationBoard db LEFT JOIN FETCH db.uploadFileNames")
-    Page<DonationBoard> findAllWithImages(Pageable pageable);
-    
-    // 카테고리별 조회 메서드 추가
-    @Query("SELECT db FROM DonationBoard db LEFT JOIN FETCH db.uploadFileNames WHERE db.category = :category")
-    Page<DonationBoard> findByCategoryWithImages(DonationCategory category, Pageable pageable);
+    // 목록 1단계: 컬렉션 fetch join 과 페이징을 같이 쓰면 전체를 읽어 메모리에서 자르므로(HHH90003004)
+    // 먼저 해당 페이지의 tno 만 DB에서 잘라온다
+    @Query(value = "SELECT db.tno FROM DonationBoard db",
+           countQuery = "SELECT count(db) FROM DonationBoard db")
+    Page<Long> findTnoPage(Pageable pageable);
+
+    @Query(value = "SELECT db.tno FROM DonationBoard db WHERE db.category = :category",
+           countQuery = "SELECT count(db) FROM DonationBoard db WHERE db.category = :category")
+    Page<Long> findTnoPageByCategory(@Param("category") DonationCategory category, Pageable pageable);
+
+    // 목록 2단계: 잘라온 tno 들의 게시글과 이미지를 한 번에 조회 (순서는 호출하는 쪽에서 맞춤)
+    @Query("SELECT DISTINCT db FROM DonationBoard db LEFT JOIN FETCH db.uploadFileNames WHERE db.tno IN :tnos")
+    List<DonationBoard> findAllWithImagesByTnoIn(@Param("tnos") List<Long> tnos);
+
+    // 커서 페이징용 - 이미지는 @BatchSize 로 한 번에 로딩
+    @Query("SELECT db FROM DonationBoard db WHERE db.tno < :after ORDER BY db.tno DESC")
+    List<DonationBoard> findAfter(@Param("after") Long after, Limit limit);
+
+    @Query("SELECT db FROM DonationBoard db WHERE db.category = :category AND db.tno < :after ORDER BY db.tno DESC")
+    List<DonationBoard> findByCategoryAfter(@Param("category") DonationCategory category, @Param("after") Long after, Limit limit);
+
+    // 업로드 파일 정리 - 주어진 파일명 중 기부 게시글 이미지로 쓰이는 것
+    @Query("SELECT DISTINCT f FROM DonationBoard db JOIN db.uploadFileNames f WHERE f IN :fileNames")
+    List<String> selectReferencedFiles(@Param("fileNames") List<String> fileNames);
 }
@@ -17,4 +17,8 @@ public interface DonationProductsRepository extends JpaRepository<DonationProduc
            "WHERE d.email = :email " +
            "ORDER BY dp.dno DESC")
     List<DonationProducts> findByDonorEmailWithProductAndDonor(@Param("email") String email);
-} 
\ No newline at end of file
+
+    // 업로드 파일 정리 - 주어진 파일명 중 기부 상품 이미지로 쓰이는 것
+    @Query("SELECT DISTINCT dp.userImageFile FROM DonationProducts dp WHERE dp.userImageFile IN :fileNames")
+    List<String> selectReferencedFiles(@Param("fileNames") List<String> fileNames);
+}
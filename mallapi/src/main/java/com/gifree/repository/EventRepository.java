@@ -2,13 +2,23 @@ package com.gifree.repository;
 
 import com.gifree.domain.Event;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
     Optional<Event> findById(Long id);
-     
-    }
+
+    // 커서 페이징용 - id < after 인 이벤트를 최신순으로 limit 개
+    List<Event> findByIdLessThanOrderByIdDesc(Long after, Limit limit);
+
+    // 업로드 파일 정리 - 주어진 파일명 중 이벤트 이미지로 쓰이는 것
+    @Query("select distinct e.imageUrl from Event e where e.imageUrl in :fileNames")
+    List<String> selectReferencedFiles(@Param("fileNames") List<String> fileNames);
+}
@@ -10,4 +10,8 @@ public interface MemberRepository extends JpaRepository<Member, String> {
   @Query("select m from Member m where m.email = :email")
   Member getWithRoles(@Param("email") String email);
 
+  // 로그인 시 비밀번호 확인용 (권한 조인 없이 비밀번호 해시만)
+  @Query("select m.pw from Member m where m.email = :email")
+  String selectPw(@Param("email") String email);
+
 }
\ No newline at end of file
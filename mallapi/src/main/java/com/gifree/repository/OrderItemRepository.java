@@ -13,7 +13,21 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     @Query("SELECT oi FROM OrderItem oi WHERE oi.order.ono = :ono")
     List<OrderItem> findByOrderOno(@Param("ono") Long ono);
     
+    // 회원의 누적 구매 금액 (기부 상품 제외) - 구매 원장 초기화용
+    @Query("SELECT coalesce(sum(oi.price * oi.qty), 0) FROM OrderItem oi " +
+           "WHERE oi.order.memberEmail = :email AND oi.pno <> :donationPno")
+    long sumAmountByEmail(@Param("email") String email, @Param("donationPno") Long donationPno);
+
+    // 전체 회원의 누적 구매 금액 (기부 상품 제외) - 구매 원장 대사용 [email, amount]
+    @Query("SELECT oi.order.memberEmail, coalesce(sum(oi.price * oi.qty), 0) FROM OrderItem oi " +
+           "WHERE oi.pno <> :donationPno GROUP BY oi.order.memberEmail")
+    List<Object[]> sumAmountGroupByEmail(@Param("donationPno") Long donationPno);
+
     // 디버깅용: 모든 OrderItem 조회
     @Query("SELECT oi FROM OrderItem oi")
     List<OrderItem> findAllOrderItems();
-} 
\ No newline at end of file
+
+    // 업로드 파일 정리 - 주어진 파일명 중 주문 상품 이미지로 쓰이는 것
+    @Query("SELECT DISTINCT oi.imageFile FROM OrderItem oi WHERE oi.imageFile IN :fileNames")
+    List<String> selectReferencedFiles(@Param("fileNames") List<String> fileNames);
+}
@@ -0,0 +1,37 @@
+package com.gifree.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.gifree.domain.OrderOutbox;
+
+public interface OrderOutboxRepository extends JpaRepository<OrderOutbox, Long> {
+
+    // 지금 처리할 수 있는 작업 번호 (오래된 순)
+    @Query("select o.id from OrderOutbox o where o.status = :status and o.nextAttemptAt <= :now order by o.id")
+    List<Long> selectDue(@Param("status") OrderOutbox.Status status, @Param("now") LocalDateTime now, Limit limit);
+
+    // 작업 임대 - 재시도 시각을 임대 만료 시각으로 미뤄 다른 워커가 가져가지 못하게 함 (워커가 죽으면 만료 후 다시 처리)
+    @Modifying
+    @Query("update OrderOutbox o set o.claimToken = :token, o.nextAttemptAt = :leaseUntil " +
+           "where o.id = :id and o.status = :status and o.nextAttemptAt <= :now")
+    int claim(@Param("id") Long id, @Param("status") OrderOutbox.Status status, @Param("token") String token,
+              @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // 임대 토큰이 그대로일 때만 결과 반영 (임대가 만료되어 다른 워커가 가져갔으면 0)
+    @Modifying(flushAutomatically = true)
+    @Query("update OrderOutbox o set o.status = :status, o.attempts = :attempts, o.nextAttemptAt = :nextAttemptAt, " +
+           "o.lastError = :error, o.processedAt = :processedAt, o.claimToken = null " +
+           "where o.id = :id and o.claimToken = :token")
+    int complete(@Param("id") Long id, @Param("token") String token, @Param("status") OrderOutbox.Status status,
+                 @Param("attempts") int attempts, @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                 @Param("error") String error, @Param("processedAt") LocalDateTime processedAt);
+
+    long countByStatus(OrderOutbox.Status status);
+}
@@ -4,7 +4,12 @@ package com.gifree.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import com.gifree.domain.Order;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
@@ -15,4 +20,18 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     Optional<Order> findByReceiptId(String receiptId);
 
     List<Order> findByMemberEmailOrderByOrderedAtDesc(String email);
+
+    // 구매내역: 주문 + 주문 아이템을 한 번에 조회 (최신 주문순)
+    @Query("select distinct o from Order o left join fetch o.items " +
+           "where o.memberEmail = :email order by o.orderedAt desc, o.ono desc")
+    List<Order> selectHistoryByEmail(@Param("email") String email);
+
+    // 구매내역 페이지 1단계: 해당 페이지의 주문 번호만 DB에서 자름 (컬렉션 fetch join 은 메모리 페이징이 되므로)
+    @Query(value = "select o.ono from Order o where o.memberEmail = :email",
+           countQuery = "select count(o) from Order o where o.memberEmail = :email")
+    Page<Long> selectHistoryOnoPage(@Param("email") String email, Pageable pageable);
+
+    // 구매내역 페이지 2단계: 잘라온 주문들의 아이템을 한 번에 조회
+    @Query("select distinct o from Order o left join fetch o.items where o.ono in :onos")
+    List<Order> selectWithItems(@Param("onos") List<Long> onos);
 }
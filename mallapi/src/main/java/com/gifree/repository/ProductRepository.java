@@ -3,6 +3,7 @@ package com.gifree.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
@@ -12,6 +13,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.gifree.domain.Product;
+import com.gifree.dto.ProductDTO;
 
 public interface ProductRepository extends JpaRepository<Product, Long>{
 
@@ -23,10 +25,66 @@ public interface ProductRepository extends JpaRepository<Product, Long>{
     @Query("update Product p set p.delFlag = :flag where p.pno = :pno")
     void updateToDelete(@Param("pno") Long pno, @Param("flag") boolean flag);
 
+    // 여러 상품을 하나의 UPDATE 로 숨김 처리 (주문 처리용)
+    @Modifying
+    @Query("update Product p set p.delFlag = :flag where p.pno in :pnos")
+    int updateToDeleteAll(@Param("pnos") List<Long> pnos, @Param("flag") boolean flag);
+
+    // 주문 시 판매중인 상품만 판매 완료로 바꿈 - 변경된 행 수가 요청 수보다 적으면 이미 팔린 상품이 있음
+    @Modifying
+    @Query("update Product p set p.delFlag = true where p.pno in :pnos and p.delFlag = false")
+    int reserveAll(@Param("pnos") List<Long> pnos);
+
+    // 랜덤박스 후보 (판매중 & 가격 이하) 개수 / 무작위 offset 위치의 상품 번호 - 스냅샷을 쓰지 않을 때
+    @Query("select count(p) from Product p where p.delFlag = false and p.price <= :maxPrice " + NOT_DONATION)
+    long countRandomBoxCandidates(@Param("maxPrice") int maxPrice);
+
+    @Query("select p.pno from Product p where p.delFlag = false and p.price <= :maxPrice " + NOT_DONATION + "order by p.pno")
+    List<Long> selectRandomBoxCandidate(@Param("maxPrice") int maxPrice, Pageable pageable);
+
+    // 주문 상품 + 이미지를 한 번에 조회
+    @EntityGraph(attributePaths = "imageList")
+    @Query("select p from Product p where p.pno in :pnos")
+    List<Product> selectWithImages(@Param("pnos") List<Long> pnos);
+
     // 상품하나당 이미지 하나의 목록이 보이게 하기 위함. 
     @Query("select p, pi from Product p left join p.imageList pi on pi.ord = 0 where p.delFlag = false")
     Page<Object[]> selectList(Pageable pageable);
     
+    // 목록 조회용 DTO 프로젝션 - 상품 + 첫 번째 이미지(ord = 0) + 이미지 개수를 한 번의 쿼리로 조회
+    String DTO_SELECT = "select new com.gifree.dto.ProductDTO(p.pno, p.brand, p.pname, p.price, p.discountRate, " +
+           "p.salePrice, p.pdesc, p.delFlag, pi.fileName, size(p.imageList)) " +
+           "from Product p left join p.imageList pi on pi.ord = 0 ";
+
+    // 기부 관련 상품 제외 조건
+    String NOT_DONATION = "and (p.brand != '기부' or p.brand is null) and (p.pname != '기부' or p.pname is null) ";
+
+    String KEYWORD = "and (p.pname like %:keyword% or p.brand like %:keyword% or p.pdesc like %:keyword%) ";
+
+    @Query(value = DTO_SELECT + "where p.delFlag = false " + NOT_DONATION,
+           countQuery = "select count(p) from Product p where p.delFlag = false " + NOT_DONATION)
+    Page<ProductDTO> selectDTOList(Pageable pageable);
+
+    @Query(value = DTO_SELECT + "where p.delFlag = false " + NOT_DONATION + KEYWORD,
+           countQuery = "select count(p) from Product p where p.delFlag = false " + NOT_DONATION + KEYWORD)
+    Page<ProductDTO> searchDTOList(@Param("keyword") String keyword, Pageable pageable);
+
+    // 커서 페이징용 - pno 인덱스를 타고 after 다음 행부터 limit 개만 읽음
+    @Query(DTO_SELECT + "where p.delFlag = false and p.pno < :after " + NOT_DONATION + "order by p.pno desc")
+    List<ProductDTO> selectDTOListAfter(@Param("after") Long after, Limit limit);
+
+    // 상품 목록 스냅샷 적재용
+    @Query(DTO_SELECT + "where p.delFlag = false " + NOT_DONATION)
+    List<ProductDTO> selectCatalog();
+
+    // 상품 목록 스냅샷 부분 갱신용 (삭제 여부와 관계없이 조회)
+    @Query(DTO_SELECT + "where p.pno in :pnos")
+    List<ProductDTO> selectCatalogOf(@Param("pnos") List<Long> pnos);
+
+    // 기부 전용 상품(pname, brand 모두 '기부') 번호 조회 - DonationProductResolver 에서 캐시
+    @Query("select p.pno from Product p where p.pname = '기부' and p.brand = '기부' order by p.pno asc")
+    List<Long> selectDonationPno(Limit limit);
+
     // 모든 상품을 가져오는 쿼리 (이미지 유무와 관계없이)
     @Query("select p from Product p where p.delFlag = false")
     Page<Product> selectAllProducts(Pageable pageable);
@@ -49,4 +107,8 @@ public interface ProductRepository extends JpaRepository<Product, Long>{
     @Query("select p from Product p where p.delFlag = false and " +
            "(p.pname like %:keyword% or p.brand like %:keyword% or p.pdesc like %:keyword%)")
     Page<Product> findByKeyword(@Param("keyword") String keyword, Pageable pageable);
-}
\ No newline at end of file
+
+    // 업로드 파일 정리 - 주어진 파일명 중 상품 이미지로 쓰이는 것
+    @Query("select distinct i.fileName from Product p join p.imageList i where i.fileName in :fileNames")
+    List<String> selectReferencedFiles(@Param("fileNames") List<String> fileNames);
+}
@@ -0,0 +1,32 @@
+package com.gifree.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.gifree.domain.PurchaseLedger;
+
+public interface PurchaseLedgerRepository extends JpaRepository<PurchaseLedger, String> {
+
+    // 동시에 주문해도 누락되지 않도록 DB에서 더함
+    @Modifying(flushAutomatically = true)
+    @Query("update PurchaseLedger l set l.totalAmount = l.totalAmount + :amount, l.lastUpdated = :now " +
+           "where l.memberEmail = :email")
+    int addAmount(@Param("email") String email, @Param("amount") long amount, @Param("now") LocalDateTime now);
+
+    // 원장이 없을 때만 생성 (동시에 첫 주문이 들어와 이미 생겼으면 0 - 중복 키 오류 없이 무시)
+    @Modifying(flushAutomatically = true)
+    @Query(value = "insert ignore into tbl_purchase_ledger (member_email, total_amount, last_updated) " +
+                   "values (:email, :amount, :now)", nativeQuery = true)
+    int insertIfAbsent(@Param("email") String email, @Param("amount") long amount, @Param("now") LocalDateTime now);
+
+    // 대사 중에 들어온 주문 금액을 덮어쓰지 않도록 읽었던 값일 때만 교정
+    @Modifying
+    @Query("update PurchaseLedger l set l.totalAmount = :amount, l.lastUpdated = :now " +
+           "where l.memberEmail = :email and l.totalAmount = :expected")
+    int correctAmount(@Param("email") String email, @Param("expected") long expected,
+                      @Param("amount") long amount, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,34 @@
+package com.gifree.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.gifree.domain.StoredFile;
+
+public interface StoredFileRepository extends JpaRepository<StoredFile, String> {
+
+    // 참조 수 증가 (관리하지 않는 파일명은 무시됨)
+    @Modifying(flushAutomatically = true)
+    @Query("update StoredFile f set f.refCount = f.refCount + :delta where f.fileName in :fileNames")
+    int retain(@Param("fileNames") Collection<String> fileNames, @Param("delta") int delta);
+
+    // 참조 수 감소 (0 아래로 내려가지 않음)
+    @Modifying(flushAutomatically = true)
+    @Query("update StoredFile f set f.refCount = case when f.refCount > :delta then f.refCount - :delta else 0 end " +
+           "where f.fileName in :fileNames")
+    int release(@Param("fileNames") Collection<String> fileNames, @Param("delta") int delta);
+
+    @Query("select f.fileName from StoredFile f where f.fileName in :fileNames and f.refCount = 0")
+    List<String> selectUnreferenced(@Param("fileNames") Collection<String> fileNames);
+
+    // 참조가 없고 업로드된 지 충분히 지난 경우에만 삭제 (1이면 파일도 지워도 됨)
+    @Modifying
+    @Query("delete from StoredFile f where f.fileName = :fileName and f.refCount = 0 and f.uploadedAt < :uploadedBefore")
+    int deleteIfUnreferenced(@Param("fileName") String fileName, @Param("uploadedBefore") LocalDateTime uploadedBefore);
+}
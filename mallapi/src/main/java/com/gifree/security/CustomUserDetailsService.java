@@ -1,13 +1,10 @@
 package com.gifree.security;
 
-import java.util.stream.Collectors;
-
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import com.gifree.domain.Member;
 import com.gifree.dto.MemberDTO;
 import com.gifree.repository.MemberRepository;
 
@@ -21,26 +18,28 @@ public class CustomUserDetailsService implements UserDetailsService{
 
   private final MemberRepository memberRepository;
 
+  private final MemberPrincipalCache memberPrincipalCache;
+
   @Override
   public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
     
     log.info("----------------loadUserByUsername-----------------------------");
 
 
-   Member member = memberRepository.getWithRoles(username);
+    // 권한/닉네임은 캐시에서, 비밀번호 해시는 매번 DB에서 (캐시에 두지 않음)
+    MemberPrincipalCache.Principal principal = memberPrincipalCache.get(username);
+    String pw = principal == null ? null : memberRepository.selectPw(username);
 
-    if(member == null){
+    if(principal == null || pw == null){
       throw new UsernameNotFoundException("Not Found");
     }
 
     MemberDTO memberDTO = new MemberDTO(
-            member.getEmail(),
-            member.getPw(),
-            member.getNickname(),
-            member.isSocial(),
-            member.getMemberRoleList()
-                  .stream()
-                  .map(memberRole -> memberRole.name()).collect(Collectors.toList()));
+            principal.email(),
+            pw,
+            principal.nickname(),
+            principal.social(),
+            principal.roleNames());
 
     log.info(memberDTO);
 
@@ -0,0 +1,140 @@
+package com.gifree.security;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.gifree.domain.Member;
+import com.gifree.domain.MemberRole;
+import com.gifree.repository.MemberRepository;
+import com.gifree.service.MemberChangedEvent;
+import com.gifree.util.BoundedCache;
+
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * 회원 인증 정보 캐시 (email -> 권한, 닉네임, 소셜 여부).
+ *
+ * 로그인(CustomUserDetailsService)과 관리자 권한 확인에서 매번 memberRoleList 를 조인해 읽던 getWithRoles 대신 사용한다.
+ * 항목은 ttl 동안만 쓰고, MemberChangedEvent 를 받으면 커밋 후 바로 지운다.
+ * 이때 VerifiedTokenCache.revokeMember 로 그 전에 발급된 회원의 토큰도 거부해, 변경 전 claims 를 담은 토큰을 더 쓰지 못하게 한다.
+ * DB에서 읽기 시작한 뒤에 무효화가 있었으면 읽은 값은 넣지 않아(generation 비교) 늦게 끝난 조회가 변경 전 권한을 남기지 않게 한다.
+ * 비밀번호 해시는 보관하지 않는다.
+ */
+@Component
+@Log4j2
+public class MemberPrincipalCache {
+
+  /** 캐시하는 회원 인증 정보 */
+  public record Principal(String email, String nickname, boolean social, List<String> roleNames) {
+
+    static Principal of(Member member) {
+      return new Principal(member.getEmail(), member.getNickname(), member.isSocial(),
+          member.getMemberRoleList().stream().map(MemberRole::name).toList());
+    }
+
+    public boolean hasRole(MemberRole role) {
+      return roleNames.contains(role.name());
+    }
+  }
+
+  private record Entry(Principal principal, long expiresAt) {}
+
+  private static final int GENERATION_SLOTS = 1024;
+
+  private final long[] generations = new long[GENERATION_SLOTS];
+
+  private final MemberRepository memberRepository;
+
+  private final VerifiedTokenCache tokenCache;
+
+  private final BoundedCache<String, Entry> entries;
+
+  private final long ttlMillis;
+
+  private final LongAdder hits = new LongAdder();
+
+  private final LongAdder misses = new LongAdder();
+
+  public MemberPrincipalCache(MemberRepository memberRepository, VerifiedTokenCache tokenCache,
+      @Value("${com.gifree.member.principal-cache-size:10000}") int maxSize,
+      @Value("${com.gifree.member.principal-cache-ttl-seconds:300}") long ttlSeconds) {
+    this.memberRepository = memberRepository;
+    this.tokenCache = tokenCache;
+    this.entries = new BoundedCache<>(maxSize);
+    this.ttlMillis = ttlSeconds * 1000;
+  }
+
+  /** 회원 인증 정보 (없는 회원이면 null, 없는 회원은 캐시하지 않음) */
+  public Principal get(String email) {
+    Principal cached = cached(email);
+    if (cached != null) {
+      hits.increment();
+      return cached;
+    }
+    misses.increment();
+
+    long readGeneration = generation(email);
+    Member member = memberRepository.getWithRoles(email);
+    if (member == null) return null;
+
+    Principal principal = Principal.of(member);
+    putIfUnchanged(email, principal, readGeneration);
+    return principal;
+  }
+
+  public synchronized void invalidate(String email) {
+    generations[slot(email)]++;
+    entries.remove(email);
+  }
+
+  public synchronized void clear() {
+    for (int i = 0; i < GENERATION_SLOTS; i++) {
+      generations[i]++;
+    }
+    entries.clear();
+  }
+
+  public long hits() {
+    return hits.sum();
+  }
+
+  public long misses() {
+    return misses.sum();
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onMemberChanged(MemberChangedEvent event) {
+    invalidate(event.getEmail());
+    tokenCache.revokeMember(event.getEmail());
+
+    log.debug("member principal invalidated - {}", event.getEmail());
+  }
+
+  private synchronized Principal cached(String email) {
+    Entry entry = entries.get(email);
+    if (entry == null) return null;
+
+    if (System.currentTimeMillis() >= entry.expiresAt()) {
+      entries.remove(email);
+      return null;
+    }
+    return entry.principal();
+  }
+
+  private synchronized long generation(String email) {
+    return generations[slot(email)];
+  }
+
+  private synchronized void putIfUnchanged(String email, Principal principal, long readGeneration) {
+    if (readGeneration != generations[slot(email)]) return;
+    entries.put(email, new Entry(principal, System.currentTimeMillis() + ttlMillis));
+  }
+
+  private static int slot(String email) {
+    return Math.floorMod(email.hashCode(), GENERATION_SLOTS);
+  }
+}
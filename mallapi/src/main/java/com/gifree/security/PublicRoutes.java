@@ -0,0 +1,136 @@
+package com.gifree.security;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * 로그인 없이 호출하는 API 경로 목록. JWTCheckFilter 는 이 경로의 토큰 검사를 건너뛰고, CustomSecurityConfig 는 permitAll 로 등록한다.
+ *
+ * 패턴은 시작할 때 '/' 로 나눈 세그먼트 트리로 만들어 두고, 요청 경로는 세그먼트 수만큼만 따라 내려가며 비교한다.
+ *   *        : 세그먼트 하나
+ *   {number} : 숫자로만 된 세그먼트 하나
+ *   **       : 그 아래 모든 경로 ('/api/products/**' 는 '/api/products/' 로 시작하는 경로, '/api/products' 는 제외. 패턴 마지막에만)
+ * OPTIONS(CORS preflight) 요청은 경로와 관계없이 공개.
+ */
+@Component
+@Log4j2
+public class PublicRoutes implements RequestMatcher {
+
+  public static final List<String> PATTERNS = List.of(
+      "/api/products/**",
+      "/api/events/**",
+      "/api/donationBoard/list",
+      "/api/donationBoard/recent",
+      "/api/donationBoard/category",
+      "/api/donationBoard/{number}",
+      "/api/member/signup",
+      "/api/member/login",
+      "/api/order",
+      "/api/bootpay");
+
+  private static final String ANY = "*";
+
+  private static final String NUMBER = "{number}";
+
+  private static final String REST = "**";
+
+  private final Node root = new Node();
+
+  public PublicRoutes() {
+    this(PATTERNS);
+  }
+
+  public PublicRoutes(List<String> patterns) {
+    for (String pattern : patterns) {
+      add(pattern);
+    }
+    log.info("public routes: {}", patterns.size());
+  }
+
+  @Override
+  public boolean matches(HttpServletRequest request) {
+    if ("OPTIONS".equalsIgnoreCase(request.getMethod())) return true;
+
+    return matches(request.getRequestURI());
+  }
+
+  public boolean matches(String path) {
+    if (path == null || !path.startsWith("/")) return false;
+
+    return matches(root, path, 1);
+  }
+
+  // path 의 from 위치부터 시작하는 세그먼트를 node 아래에서 찾음
+  private static boolean matches(Node node, String path, int from) {
+    // from 이 길이를 넘었으면 경로가 이 노드에서 끝난 것 (뒤에 '/' 없음)
+    if (from > path.length()) return node.terminal;
+    if (node.rest) return true;
+
+    int end = path.indexOf('/', from);
+    if (end < 0) end = path.length();
+    String segment = path.substring(from, end);
+
+    Node literal = node.children.get(segment);
+    if (literal != null && matches(literal, path, end + 1)) return true;
+
+    if (node.number != null && isNumber(segment) && matches(node.number, path, end + 1)) return true;
+
+    return node.any != null && matches(node.any, path, end + 1);
+  }
+
+  private void add(String pattern) {
+    if (!pattern.startsWith("/")) {
+      throw new IllegalArgumentException("공개 경로는 / 로 시작해야 함: " + pattern);
+    }
+
+    String[] segments = pattern.substring(1).split("/", -1);
+    Node node = root;
+
+    for (int i = 0; i < segments.length; i++) {
+      String segment = segments[i];
+
+      if (REST.equals(segment)) {
+        if (i != segments.length - 1) {
+          throw new IllegalArgumentException("** 는 패턴 마지막에만 올 수 있음: " + pattern);
+        }
+        node.rest = true;
+        return;
+      }
+
+      if (ANY.equals(segment)) {
+        node = node.any != null ? node.any : (node.any = new Node());
+      } else if (NUMBER.equals(segment)) {
+        node = node.number != null ? node.number : (node.number = new Node());
+      } else {
+        node = node.children.computeIfAbsent(segment, key -> new Node());
+      }
+    }
+    node.terminal = true;
+  }
+
+  private static boolean isNumber(String segment) {
+    if (segment.isEmpty()) return false;
+    for (int i = 0; i < segment.length(); i++) {
+      char c = segment.charAt(i);
+      if (c < '0' || c > '9') return false;
+    }
+    return true;
+  }
+
+  private static class Node {
+    final Map<String, Node> children = new HashMap<>();
+    Node any;
+    Node number;
+    // 여기서 끝나는 경로가 공개
+    boolean terminal;
+    // 이 노드 뒤에 '/' 로 이어지는 모든 경로가 공개 (**)
+    boolean rest;
+  }
+}
@@ -0,0 +1,169 @@
+package com.gifree.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.gifree.dto.MemberDTO;
+import com.gifree.util.BoundedCache;
+
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * 서명 검증을 마친 access token 캐시 (토큰 SHA-256 -> 인증 정보).
+ *
+ * 같은 토큰으로 연달아 들어오는 요청은 서명 검증과 claims 파싱, MemberDTO 생성을 다시 하지 않고 이 값을 쓴다.
+ * 토큰 원문 대신 해시를 키로 두어 메모리에 토큰이 남지 않게 하고, 항목은 토큰의 exp 까지만 유효하다.
+ * 보관하는 MemberDTO 는 여러 요청이 같이 쓰므로 읽기 전용으로 사용한다.
+ *
+ * 토큰의 claims 는 서명되어 있어 캐시에서 지워도 다시 검증하면 같은 값이 나오므로, revokeMember 는 항목을 지우는 것과 함께
+ * 회원별 기준 시각(ms)을 남겨 그보다 먼저 발급된 토큰은 access / refresh 모두 거부하게 한다 (isRevoked).
+ * 발급 시각은 토큰의 ims claim(ms)으로 비교하므로 회수 직후 같은 초에 다시 로그인해 받은 토큰은 통과한다.
+ * 기준 시각은 이 서버 메모리에만 두므로 여러 대로 띄우면 공유 저장소로 옮겨야 하고, 재시작하면 사라진다.
+ */
+@Component
+@Log4j2
+public class VerifiedTokenCache {
+
+  /** 검증된 인증 정보와 발급 시각(epoch ms, JWTUtil.issuedAtMillis), 만료 시각(epoch ms, 토큰의 exp) */
+  public record Entry(MemberDTO member, long issuedAt, long expiresAt) {
+
+    boolean isExpired(long now) {
+      return now >= expiresAt;
+    }
+  }
+
+  /** 캐시 통계 - 적중, 미스(없음 + 만료), 용량 초과나 만료로 밀려난 수, 회수(revoke)된 수, 현재 크기 */
+  public record Stats(long hits, long misses, long evictions, long revocations, int size) {}
+
+  private final BoundedCache<String, Entry> entries;
+
+  // email -> 그 회원 토큰의 해시 (entries 와 같은 잠금으로 관리)
+  private final Map<String, Set<String>> digestsByEmail = new HashMap<>();
+
+  // email -> 이 시각(epoch ms) 전에 발급된 토큰은 거부 (가장 오래 쓰지 않은 회원부터 밀려남)
+  private final BoundedCache<String, Long> notBefore;
+
+  private final LongAdder hits = new LongAdder();
+
+  private final LongAdder misses = new LongAdder();
+
+  private final LongAdder evictions = new LongAdder();
+
+  private final LongAdder revocations = new LongAdder();
+
+  public VerifiedTokenCache(@Value("${com.gifree.jwt.token-cache-size:10000}") int maxSize,
+      @Value("${com.gifree.jwt.revoked-members-size:100000}") int maxRevokedMembers) {
+    this.entries = new BoundedCache<>(maxSize, (digest, entry) -> {
+      evictions.increment();
+      unindex(digest, entry);
+    });
+    this.notBefore = new BoundedCache<>(maxRevokedMembers);
+  }
+
+  /** 토큰 원문의 SHA-256 (hex) - 캐시 키 */
+  public static String digest(String token) {
+    try {
+      MessageDigest md = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(md.digest(token.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /** 캐시된 인증 정보 (없거나 만료 / 회수되었으면 null) */
+  public synchronized MemberDTO get(String digest) {
+    Entry entry = entries.get(digest);
+
+    if (entry != null && (entry.isExpired(System.currentTimeMillis())
+        || isRevoked(entry.member().getEmail(), entry.issuedAt()))) {
+      removeInternal(digest);
+      evictions.increment();
+      entry = null;
+    }
+
+    if (entry == null) {
+      misses.increment();
+      return null;
+    }
+    hits.increment();
+    return entry.member();
+  }
+
+  /** 검증을 마친 토큰의 인증 정보를 exp(epoch ms)까지 보관 (발급 시각도 epoch ms) */
+  public synchronized void put(String digest, MemberDTO member, long issuedAt, long expiresAt) {
+    if (expiresAt <= System.currentTimeMillis() || isRevoked(member.getEmail(), issuedAt)) return;
+
+    Entry previous = entries.put(digest, new Entry(member, issuedAt, expiresAt));
+    if (previous != null) {
+      unindex(digest, previous);
+    }
+    digestsByEmail.computeIfAbsent(member.getEmail(), email -> new HashSet<>()).add(digest);
+  }
+
+  /** 토큰 하나를 바로 제거 */
+  public synchronized void revoke(String token) {
+    if (removeInternal(digest(token)) != null) {
+      revocations.increment();
+    }
+  }
+
+  /** 회원의 토큰을 모두 제거하고, 지금(ms)보다 먼저 발급된 그 회원의 토큰은 이후 거부 (회원 정보 / 권한 변경 시) */
+  public synchronized void revokeMember(String email) {
+    notBefore.put(email, System.currentTimeMillis());
+
+    Set<String> digests = digestsByEmail.remove(email);
+    if (digests == null) return;
+
+    for (String digest : digests) {
+      if (entries.remove(digest) != null) {
+        revocations.increment();
+      }
+    }
+    log.debug("token cache revoked - member: {}, tokens: {}", email, digests.size());
+  }
+
+  /** revokeMember 시각보다 먼저 발급된 토큰인지 (발급 시각은 epoch ms) */
+  public synchronized boolean isRevoked(String email, long issuedAt) {
+    Long revokedAt = notBefore.get(email);
+    return revokedAt != null && issuedAt < revokedAt;
+  }
+
+  public synchronized void clear() {
+    entries.clear();
+    digestsByEmail.clear();
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  public Stats stats() {
+    return new Stats(hits.sum(), misses.sum(), evictions.sum(), revocations.sum(), size());
+  }
+
+  private Entry removeInternal(String digest) {
+    Entry removed = entries.remove(digest);
+    if (removed != null) {
+      unindex(digest, removed);
+    }
+    return removed;
+  }
+
+  private void unindex(String digest, Entry entry) {
+    String email = entry.member().getEmail();
+    Set<String> digests = digestsByEmail.get(email);
+    if (digests != null && digests.remove(digest) && digests.isEmpty()) {
+      digestsByEmail.remove(email);
+    }
+  }
+}
@@ -2,7 +2,6 @@ package com.gifree.security.filter;
 
 import java.io.IOException;
 import java.io.PrintWriter;
-import java.util.List;
 import java.util.Map;
 
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -11,38 +10,33 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.google.gson.Gson;
 import com.gifree.dto.MemberDTO;
+import com.gifree.security.PublicRoutes;
+import com.gifree.security.VerifiedTokenCache;
+import com.gifree.util.CustomJWTException;
 import com.gifree.util.JWTUtil;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 
 @Log4j2
+@RequiredArgsConstructor
 public class JWTCheckFilter extends OncePerRequestFilter {
 
+  private final JWTUtil jwtUtil;
+
+  private final VerifiedTokenCache tokenCache;
+
+  private final PublicRoutes publicRoutes;
+
   @Override
   protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
-    String path = request.getRequestURI();
-
-    log.info("check uri.......................{}", path);
-
-    if ("OPTIONS".equalsIgnoreCase(request.getMethod())) return true;
-    if (path.startsWith("/api/products/view/")) return true;
-    if (path.startsWith("/api/events/")) return true;
-    if (path.startsWith("/api/products/")) return true; 
-    if (path.startsWith("/api/events/")) return true; 
-    if (path.startsWith("/api/donationBoard/list")) return true;
-    if (path.startsWith("/api/donationBoard/recent")) return true;
-    if (path.startsWith("/api/donationBoard/category")) return true;
-    if (path.startsWith("/api/donationBoard/") && path.matches("/api/donationBoard/\\d+")) return true;
-    if ("/api/member/signup".equals(path)) return true; 
-    if ("/api/member/login".equals(path)) return true;
-    if ("/api/order".equals(path)) return true;
-    if ("/api/bootpay".equals(path)) return true;
-
-    return false;
+    log.debug("check uri.......................{}", request.getRequestURI());
+
+    return publicRoutes.matches(request);
   }
 
   @Override
@@ -63,24 +57,37 @@ public class JWTCheckFilter extends OncePerRequestFilter {
     try {
       // Bearer 토큰 추출
       String accessToken = authHeaderStr.substring(7);
-      Map<String, Object> claims = JWTUtil.validateToken(accessToken);
+      String digest = VerifiedTokenCache.digest(accessToken);
 
-      log.info("JWT claims: {}", claims);
+      // 이미 검증한 토큰이면 서명 검증과 claims 파싱을 건너뜀
+      MemberDTO cached = tokenCache.get(digest);
+      if (cached != null) {
+        authenticate(cached);
+        filterChain.doFilter(request, response);
+        return;
+      }
 
-      String email = (String) claims.get("email");
-      String pw = (String) claims.get("pw");
-      String nickname = (String) claims.get("nickname");
-      Boolean social = (Boolean) claims.get("social");
-      List<String> roleNames = (List<String>) claims.get("roleNames");
+      Map<String, Object> claims = jwtUtil.validateToken(accessToken);
 
-      MemberDTO memberDTO = new MemberDTO(email, pw, nickname, social, roleNames);
+      log.info("JWT claims: {}", claims);
+
+      // 짧은 claims(sub, nn, sc, rl)와 예전 형식 모두 MemberDTO 로 펼침
+      MemberDTO memberDTO = MemberDTO.fromTokenClaims(claims);
 
       log.info("Authenticated member: {}", memberDTO);
 
-      UsernamePasswordAuthenticationToken authenticationToken =
-          new UsernamePasswordAuthenticationToken(memberDTO, pw, memberDTO.getAuthorities());
+      // 회원 정보 변경 등으로 회수된 뒤에 다시 들어온 예전 토큰은 거부 (발급 시각은 ms, exp 는 초 단위)
+      long issuedAt = JWTUtil.issuedAtMillis(claims);
+      if (tokenCache.isRevoked(memberDTO.getEmail(), issuedAt)) {
+        throw new CustomJWTException("Revoked JWT token");
+      }
+
+      Number exp = (Number) claims.get("exp");
+      if (exp != null) {
+        tokenCache.put(digest, memberDTO, issuedAt, exp.longValue() * 1000);
+      }
 
-      SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+      authenticate(memberDTO);
 
       filterChain.doFilter(request, response);
 
@@ -97,4 +104,11 @@ public class JWTCheckFilter extends OncePerRequestFilter {
       printWriter.close();
     }
   }
+
+  private void authenticate(MemberDTO memberDTO) {
+    UsernamePasswordAuthenticationToken authenticationToken =
+        new UsernamePasswordAuthenticationToken(memberDTO, memberDTO.getPw(), memberDTO.getAuthorities());
+
+    SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+  }
 }
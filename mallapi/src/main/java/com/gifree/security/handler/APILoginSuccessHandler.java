@@ -14,10 +14,14 @@ import com.gifree.util.JWTUtil;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 
 @Log4j2
+@RequiredArgsConstructor
 public class APILoginSuccessHandler implements AuthenticationSuccessHandler{
+
+    private final JWTUtil jwtUtil;
     
     @Override
     public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response, Authentication authentication)
@@ -30,8 +34,8 @@ public class APILoginSuccessHandler implements AuthenticationSuccessHandler{
 
         Map<String, Object> claims  = memberDTO.getClaims();
 
-        String accessToken = JWTUtil.generateToken(claims, 60);
-        String refreshToken = JWTUtil.generateToken(claims,60*24);
+        String accessToken = jwtUtil.generateToken(memberDTO.getTokenClaims(), 60);
+        String refreshToken = jwtUtil.generateToken(memberDTO.getTokenClaims(),60*24);
 
 
         claims.put("accessToken", accessToken);
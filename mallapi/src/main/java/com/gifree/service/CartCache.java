@@ -0,0 +1,179 @@
+package com.gifree.service;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.gifree.dto.CartItemListDTO;
+import com.gifree.util.BoundedCache;
+
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * 회원별 장바구니 목록(CartItemListDTO)과 아이템 개수 캐시.
+ *
+ * 장바구니 변경은 커밋된 뒤에 새 목록으로 교체하고(롤백되면 버림), 상품의 가격이나 판매 상태가 바뀌면
+ * ProductChangedEvent 로 그 상품을 담은 회원의 항목만 지운다. 이를 위해 pno -> 회원 역색인을 함께 관리한다.
+ *
+ * DB에서 읽어온 목록은 읽기 시작한 뒤에 그 회원의 변경/무효화가 없었을 때만 넣어(generation 비교)
+ * 늦게 끝난 조회가 최신 값을 덮어쓰지 않게 한다. generation 은 회원 email 해시로 나눈 슬롯별로 관리한다.
+ * 보관하는 목록은 읽기 전용으로 사용한다.
+ */
+@Component
+@Log4j2
+public class CartCache {
+
+  /** 장바구니 목록과 아이템 개수 (목록은 이미지별로 행이 나뉠 수 있으므로 개수는 cino 기준) */
+  public record Entry(List<CartItemListDTO> items, long count) {
+
+    static Entry of(List<CartItemListDTO> items) {
+      return new Entry(List.copyOf(items), items.stream().map(CartItemListDTO::getCino).distinct().count());
+    }
+  }
+
+  private final BoundedCache<String, Entry> entries;
+
+  // pno -> 그 상품을 장바구니에 담은 회원 (entries 와 같은 잠금으로 관리)
+  private final Map<Long, Set<String>> membersByPno = new HashMap<>();
+
+  private static final int GENERATION_SLOTS = 1024;
+
+  private final long[] generations = new long[GENERATION_SLOTS];
+
+  public CartCache(@Value("${com.gifree.cart.cache-size:10000}") int maxSize) {
+    this.entries = new BoundedCache<>(maxSize, (email, entry) -> unindex(email, entry));
+  }
+
+  public synchronized Entry get(String email) {
+    return entries.get(email);
+  }
+
+  /** DB 조회를 시작하기 전에 읽어두고 putIfUnchanged 에 넘긴다 */
+  public synchronized long generation(String email) {
+    return generations[slot(email)];
+  }
+
+  /** 조회를 시작한 뒤로 변경/무효화가 없었을 때만 캐시 */
+  public synchronized Entry putIfUnchanged(String email, List<CartItemListDTO> items, long readGeneration) {
+    Entry entry = Entry.of(items);
+    if (readGeneration == generations[slot(email)]) {
+      putInternal(email, entry);
+    }
+    return entry;
+  }
+
+  /**
+   * 변경 후 목록을 커밋 시점에 반영. readGeneration 은 변경 전 목록(캐시 또는 DB)을 읽기 전에 generation 으로 받아 둔 값.
+   * 커밋 전까지는 항목을 비워 두어 다른 요청이 DB에서 다시 읽게 하고, 읽은 뒤로 같은 회원의 다른 변경/무효화가 없었을 때만
+   * 커밋 후에 넣는다. 동시에 변경한 요청들은 서로의 변경을 보지 못한 목록을 들고 있으므로 어느 쪽도 넣지 않고 비워 둔다
+   * (롤백되거나 넣지 못하면 커밋 후 다시 무효화해 그 사이 DB에서 읽어 넣은 값도 버림). 트랜잭션 밖에서 호출하면 바로 반영한다.
+   */
+  public void putAfterCommit(String email, List<CartItemListDTO> items, long readGeneration) {
+    Entry entry = Entry.of(items);
+
+    long invalidated = invalidate(email);
+    // 읽은 뒤로 이 변경의 무효화만 있었는지
+    boolean installable = invalidated == readGeneration + 1;
+
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      if (installable) {
+        putIfGeneration(email, entry, invalidated);
+      }
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        // 커밋 전까지 다른 변경/무효화가 없었을 때만 넣고, 아니면 다시 비워 다음 조회가 DB에서 읽게 함
+        if (status != STATUS_COMMITTED || !installable || !putIfGeneration(email, entry, invalidated)) {
+          invalidate(email);
+        }
+      }
+    });
+  }
+
+  /** 무효화 후의 generation 을 반환 */
+  public synchronized long invalidate(String email) {
+    long generation = ++generations[slot(email)];
+    Entry removed = entries.remove(email);
+    if (removed != null) {
+      unindex(email, removed);
+    }
+    return generation;
+  }
+
+  public synchronized void clear() {
+    for (int i = 0; i < GENERATION_SLOTS; i++) {
+      generations[i]++;
+    }
+    entries.clear();
+    membersByPno.clear();
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  // 가격 변경, 판매 완료(delFlag) 등 상품이 바뀌면 그 상품을 담은 장바구니만 무효화
+  @TransactionalEventListener(fallbackExecution = true)
+  public synchronized void onProductChanged(ProductChangedEvent event) {
+    Set<String> emails = new HashSet<>();
+    for (Long pno : event.getPnos()) {
+      Set<String> members = membersByPno.get(pno);
+      if (members != null) {
+        emails.addAll(members);
+      }
+    }
+
+    emails.forEach(this::invalidate);
+
+    if (!emails.isEmpty()) {
+      log.debug("cart cache invalidated - pnos: {}, members: {}", event.getPnos(), emails.size());
+    }
+  }
+
+  private synchronized void put(String email, Entry entry) {
+    generations[slot(email)]++;
+    putInternal(email, entry);
+  }
+
+  private synchronized boolean putIfGeneration(String email, Entry entry, long expected) {
+    if (generations[slot(email)] != expected) return false;
+    put(email, entry);
+    return true;
+  }
+
+  private static int slot(String email) {
+    return Math.floorMod(email.hashCode(), GENERATION_SLOTS);
+  }
+
+  private void putInternal(String email, Entry entry) {
+    Entry previous = entries.put(email, entry);
+    if (previous != null) {
+      unindex(email, previous);
+    }
+    for (CartItemListDTO item : entry.items()) {
+      if (item.getPno() != null) {
+        membersByPno.computeIfAbsent(item.getPno(), pno -> new HashSet<>()).add(email);
+      }
+    }
+  }
+
+  private void unindex(String email, Entry entry) {
+    for (CartItemListDTO item : entry.items()) {
+      Set<String> members = membersByPno.get(item.getPno());
+      if (members != null && members.remove(email) && members.isEmpty()) {
+        membersByPno.remove(item.getPno());
+      }
+    }
+  }
+}
@@ -21,6 +21,9 @@ public interface CartService {
   //아이템 삭제 (pno로)
   public List<CartItemListDTO> removeByPno(String email, Long pno);
   
+  //여러 상품 한 번에 추가/수량 변경/삭제 (수량 0 이하는 삭제)
+  public List<CartItemListDTO> changeAll(String email, List<CartItemDTO> changes);
+  
   //장바구니 개수 조회
   public long getCartCount(String email);
   
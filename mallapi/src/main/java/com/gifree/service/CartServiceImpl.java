@@ -1,26 +1,35 @@
 package com.gifree.service;
 
 import java.util.*;
+import java.util.function.UnaryOperator;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.gifree.domain.*;
 import com.gifree.dto.*;
 import com.gifree.repository.*;
-import com.gifree.repository.ProductRepository;
+import com.gifree.util.InvalidCartChangeException;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 
 @RequiredArgsConstructor
 @Service
 @Log4j2
+@Transactional
 public class CartServiceImpl implements CartService {
 
   private final CartRepository cartRepository;
 
   private final CartItemRepository cartItemRepository;
   
-  private final ProductRepository productRepository;
+  private final DonationProductResolver donationProductResolver;
+
+  private final CartCache cartCache;
+
+  // 일괄 변경 한 번에 받을 수 있는 최대 상품 수
+  private static final int MAX_BULK_CHANGES = 100;
 
   @Override
   public List<CartItemListDTO> addOrModify(CartItemDTO cartItemDTO) {
@@ -36,6 +45,11 @@ public class CartServiceImpl implements CartService {
     log.info("======================================================");
     log.info(cartItemDTO.getCino() == null);
 
+    // 기부 상품은 장바구니에 담을 수 없음
+    if (cino == null && donationProductResolver.isDonation(pno)) {
+      throw new InvalidCartChangeException("기부 상품은 장바구니에 담을 수 없습니다. pno: " + pno);
+    }
+
     if(cino != null) { //장바구니 아이템 번호가 있어서 수량만 변경하는 경우 
 
       Optional<CartItem> cartItemResult = cartItemRepository.findById(cino);
@@ -46,7 +60,7 @@ public class CartServiceImpl implements CartService {
 
       cartItemRepository.save(cartItem);
 
-      return getCartItems(email);
+      return applyChange(email, items -> changeQty(items, cino, qty));
     }
 
     //장바구니 아이템 번호 cino가 없는 경우 
@@ -63,16 +77,122 @@ public class CartServiceImpl implements CartService {
       Product product = Product.builder().pno(pno).build();
       cartItem = CartItem.builder().product(product).cart(cart).qty(qty).build();
 
-    }else {
-      cartItem.changeQty(qty);
+      //상품 아이템 저장 
+      Long newCino = cartItemRepository.save(cartItem).getCino();
+
+      // 새 아이템 행만 읽어 목록 맨 앞에 추가 (목록은 cino 내림차순)
+      return applyChange(email, items -> {
+        List<CartItemListDTO> result = new ArrayList<>(cartItemRepository.getItemDTOsOfItem(newCino));
+        result.addAll(items);
+        return result;
+      });
     }
-    
+
+    cartItem.changeQty(qty);
+
     //상품 아이템 저장 
     cartItemRepository.save(cartItem);
 
-    return getCartItems(email);
+    Long savedCino = cartItem.getCino();
+    return applyChange(email, items -> changeQty(items, savedCino, qty));
   }
 
+  // 캐시에 목록이 있으면 변경 내용만 반영하고, 없으면 DB에서 다시 읽어 커밋 후 캐시
+  private List<CartItemListDTO> applyChange(String email, UnaryOperator<List<CartItemListDTO>> change) {
+
+    // 변경 전 목록을 읽기 전에 받아 두어, 그 사이 다른 변경이 있었으면 커밋 후 캐시하지 않게 함
+    long generation = cartCache.generation(email);
+    CartCache.Entry cached = cartCache.get(email);
+
+    List<CartItemListDTO> items = cached != null
+        ? change.apply(cached.items())
+        : cartItemRepository.getItemsOfCartDTOByEmail(email);
+
+    cartCache.putAfterCommit(email, items, generation);
+
+    return items;
+  }
+
+  // 수량이 바뀐 아이템만 새 DTO로 교체 (캐시의 DTO는 공유 객체이므로 직접 수정하지 않음)
+  private List<CartItemListDTO> changeQty(List<CartItemListDTO> items, Long cino, int qty) {
+    return items.stream()
+        .map(item -> !cino.equals(item.getCino()) ? item
+            : new CartItemListDTO(item.getCino(), qty, item.getPno(), item.getPname(), item.getPrice(),
+                item.getSalePrice(), item.getDiscountRate(), item.getImageFile()))
+        .toList();
+  }
+
+
+  @Override
+  public List<CartItemListDTO> changeAll(String email, List<CartItemDTO> changes) {
+
+    if (changes == null || changes.isEmpty()) {
+      return getCartItems(email);
+    }
+    if (changes.size() > MAX_BULK_CHANGES) {
+      throw new InvalidCartChangeException("한 번에 변경할 수 있는 상품은 " + MAX_BULK_CHANGES + "개까지입니다.");
+    }
+
+    // 같은 상품이 여러 번 오면 마지막 수량을 적용
+    Map<Long, Integer> qtyByPno = new LinkedHashMap<>();
+    for (CartItemDTO change : changes) {
+      if (change.getPno() == null) {
+        throw new InvalidCartChangeException("pno is required");
+      }
+      qtyByPno.put(change.getPno(), change.getQty());
+    }
+
+    List<Long> removePnos = new ArrayList<>();
+    List<Long> upsertPnos = new ArrayList<>();
+    qtyByPno.forEach((pno, qty) -> (qty > 0 ? upsertPnos : removePnos).add(pno));
+
+    // 기부 상품은 장바구니에 담을 수 없음
+    for (Long pno : upsertPnos) {
+      if (donationProductResolver.isDonation(pno)) {
+        throw new InvalidCartChangeException("기부 상품은 장바구니에 담을 수 없습니다. pno: " + pno);
+      }
+    }
+
+    long generation = cartCache.generation(email);
+
+    Cart cart = getCart(email);
+
+    if (!removePnos.isEmpty()) {
+      int removed = cartItemRepository.deleteAllOfCart(cart, removePnos);
+      log.info("cart bulk remove - email: " + email + ", pnos: " + removePnos.size() + ", rows: " + removed);
+    }
+
+    if (!upsertPnos.isEmpty()) {
+      // 이미 담긴 상품은 수량만 바꾸고(UPDATE batch), 처음 담는 상품은 한 번에 저장(INSERT batch)
+      Map<Long, List<CartItem>> existing = new HashMap<>();
+      for (CartItem cartItem : cartItemRepository.getItemsOfCart(cart, upsertPnos)) {
+        existing.computeIfAbsent(cartItem.getProduct().getPno(), key -> new ArrayList<>()).add(cartItem);
+      }
+
+      List<CartItem> newItems = new ArrayList<>();
+      for (Long pno : upsertPnos) {
+        int qty = qtyByPno.get(pno);
+        List<CartItem> items = existing.get(pno);
+
+        if (items == null) {
+          Product product = Product.builder().pno(pno).build();
+          newItems.add(CartItem.builder().product(product).cart(cart).qty(qty).build());
+        } else {
+          items.forEach(cartItem -> cartItem.changeQty(qty));
+        }
+      }
+
+      cartItemRepository.saveAll(newItems);
+      log.info("cart bulk upsert - email: " + email + ", new: " + newItems.size()
+          + ", changed: " + (upsertPnos.size() - newItems.size()));
+    }
+
+    // 변경 결과는 한 번만 다시 읽어 반환 (flush 후 조회)
+    List<CartItemListDTO> items = cartItemRepository.getItemsOfCartDTOByEmail(email);
+    cartCache.putAfterCommit(email, items, generation);
+
+    return items;
+  }
 
   //사용자의 장바구니가 없었다면 새로운 장바구니를 생성하고 반환 
   private Cart getCart(String email ){
@@ -100,57 +220,38 @@ public class CartServiceImpl implements CartService {
   }
 
   @Override
+  @Transactional(readOnly = true)
   public List<CartItemListDTO> getCartItems(String email) {
-    // 기부 상품을 장바구니에서 자동으로 제거
-    removeDonationItemsFromCart(email);
-
-    return cartItemRepository.getItemsOfCartDTOByEmail(email);
+    return getEntry(email).items();
   }
 
-  // 기부 상품을 장바구니에서 제거하는 메서드
-  private void removeDonationItemsFromCart(String email) {
-    try {
-      // 기부 상품의 pno를 찾기
-      Long donationPno = getDonationProductPno();
-      if (donationPno != null) {
-        List<CartItem> donationItems = cartItemRepository.getAllItemsOfPno(email, donationPno);
-        
-        if (!donationItems.isEmpty()) {
-          log.info("기부 상품 {}개를 장바구니에서 제거합니다.", donationItems.size());
-          for (CartItem item : donationItems) {
-            cartItemRepository.deleteById(item.getCino());
-          }
-        }
-      }
-    } catch (Exception e) {
-      log.error("기부 상품 제거 중 오류 발생: {}", e.getMessage());
-    }
-  }
+  private CartCache.Entry getEntry(String email) {
 
-  // 기부 상품의 pno를 가져오는 메서드
-  private Long getDonationProductPno() {
-    try {
-      return productRepository.findAll().stream()
-          .filter(p -> "기부".equals(p.getPname()) && "기부".equals(p.getBrand()))
-          .findFirst()
-          .map(p -> p.getPno())
-          .orElse(null);
-    } catch (Exception e) {
-      log.error("기부 상품 pno 조회 중 오류 발생: {}", e.getMessage());
-      return null;
+    CartCache.Entry cached = cartCache.get(email);
+    if (cached != null) {
+      return cached;
     }
+
+    long generation = cartCache.generation(email);
+
+    // 기부 상품은 담을 때 막고, 이미 담긴 것은 DonationCartPurgeRunner 가 정리 (조회 쿼리에서도 제외)
+    return cartCache.putIfUnchanged(email, cartItemRepository.getItemsOfCartDTOByEmail(email), generation);
   }
 
   @Override
   public List<CartItemListDTO> remove(Long cino) {
 
-    Long cno  = cartItemRepository.getCartFromItem(cino);
+    String email = cartItemRepository.getEmailFromItem(cino);
 
-    log.info("cart no: " + cno);
+    log.info("cart owner: " + email);
 
     cartItemRepository.deleteById(cino);
+
+    if (email == null) {
+      return List.of();
+    }
     
-    return cartItemRepository.getItemsOfCartDTOByCart(cno);
+    return applyChange(email, items -> items.stream().filter(item -> !cino.equals(item.getCino())).toList());
   }
 
   @Override
@@ -158,18 +259,12 @@ public class CartServiceImpl implements CartService {
     
     log.info("remove by pno - email: " + email + ", pno: " + pno);
     
-    // 해당 상품의 모든 장바구니 아이템 찾기
-    List<CartItem> cartItems = cartItemRepository.getAllItemsOfPno(email, pno);
+    // 해당 상품의 모든 CartItem 삭제
+    int removed = cartItemRepository.deleteAllByEmailAndPno(email, pno);
     
-    if(!cartItems.isEmpty()) {
-      // 첫 번째 아이템의 cart 번호 가져오기 (모두 같은 cart일 것)
-      Long cno = cartItems.get(0).getCart().getCno();
-      
-      // 모든 CartItem 삭제
-      cartItemRepository.deleteAllByEmailAndPno(email, pno);
-      
-      log.info("cart items removed - count: " + cartItems.size() + ", pno: " + pno);
-      return cartItemRepository.getItemsOfCartDTOByCart(cno);
+    if(removed > 0) {
+      log.info("cart items removed - count: " + removed + ", pno: " + pno);
+      return applyChange(email, items -> items.stream().filter(item -> !pno.equals(item.getPno())).toList());
     } else {
       log.info("cart items not found for pno: " + pno);
       return getCartItems(email);
@@ -177,7 +272,8 @@ public class CartServiceImpl implements CartService {
   }
 
   @Override
+  @Transactional(readOnly = true)
   public long getCartCount(String email) {
-    return cartItemRepository.countByEmail(email);
+    return getEntry(email).count();
   }
 }
\ No newline at end of file
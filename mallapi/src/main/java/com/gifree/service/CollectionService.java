@@ -9,6 +9,9 @@ public interface CollectionService {
     Collection addToCollection(String memberEmail, Long pno, String pname, int price, 
                               String pdesc, String brand, String uploadFileNames, String source);
 
+    // 보관함에 여러 상품을 한 번에 추가 (기부 상품은 제외, JDBC batch insert)
+    List<Collection> addAllToCollection(List<Collection> collections);
+
     // 사용자별 보관함 조회
     List<Collection> getCollectionByEmail(String memberEmail);
 
@@ -16,13 +16,14 @@ import java.util.List;
 public class CollectionServiceImpl implements CollectionService {
 
     private final CollectionRepository collectionRepository;
+    private final DonationProductResolver donationProductResolver;
 
     @Override
     public Collection addToCollection(String memberEmail, Long pno, String pname, int price, 
                                     String pdesc, String brand, String uploadFileNames, String source) {
         
         // 기부 상품은 보관함에 추가하지 않음
-        if ("기부".equals(pname) || "기부".equals(brand)) {
+        if (donationProductResolver.isDonation(pno) || DonationProductResolver.isDonationLabel(pname, brand)) {
             log.info("기부 상품은 보관함에 추가하지 않습니다. memberEmail: {}, pname: {}, brand: {}", 
                     memberEmail, pname, brand);
             return null;
@@ -47,6 +48,21 @@ public class CollectionServiceImpl implements CollectionService {
         return savedCollection;
     }
 
+    @Override
+    public List<Collection> addAllToCollection(List<Collection> collections) {
+        List<Collection> targets = collections.stream()
+                .filter(c -> !donationProductResolver.isDonation(c.getPno())
+                        && !DonationProductResolver.isDonationLabel(c.getPname(), c.getBrand()))
+                .toList();
+
+        if (targets.isEmpty()) return List.of();
+
+        List<Collection> saved = collectionRepository.saveAll(targets);
+        log.info("보관함에 상품 {}개 추가 완료. memberEmail: {}", saved.size(), saved.get(0).getMemberEmail());
+
+        return saved;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<Collection> getCollectionByEmail(String memberEmail) {
@@ -1,7 +1,11 @@
 package com.gifree.service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.modelmapper.ModelMapper;
@@ -14,6 +18,8 @@ import com.gifree.dto.PageRequestDTO;
 import com.gifree.dto.PageResponseDTO;
 import com.gifree.dto.DonationBoardDTO;
 import com.gifree.repository.DonationBoardRepository;
+import com.gifree.util.PageCursor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -30,17 +36,20 @@ public class DonationBoardServiceImpl implements DonationBoardService {
 
   private final ModelMapper modelMapper;
   private final DonationBoardRepository donationBoardRepository;
+  private final StoredFileService storedFileService;
 
   @Override
   public Long register(DonationBoardDTO donationBoardDTO) {
       DonationBoard donationBoard = modelMapper.map(donationBoardDTO, DonationBoard.class);
       DonationBoard savedDonationBoard = donationBoardRepository.save(donationBoard);
+      storedFileService.retain(savedDonationBoard.getUploadFileNames());
       return savedDonationBoard.getTno();
   }
 
   @Override
   public void addImageFiles(Long tno, List<String> fileNames) {
       DonationBoard donationBoard = donationBoardRepository.findById(tno).orElseThrow();
+      storedFileService.replace(new ArrayList<>(Objects.requireNonNullElse(donationBoard.getUploadFileNames(), List.of())), fileNames);
       donationBoard.clearImages();
       if (fileNames != null && !fileNames.isEmpty()) {
           fileNames.forEach(donationBoard::addImage);
@@ -78,29 +87,26 @@ public class DonationBoardServiceImpl implements DonationBoardService {
 
   @Override
   public void remove(Long tno) {
+      donationBoardRepository.findById(tno)
+          .ifPresent(donationBoard -> storedFileService.release(donationBoard.getUploadFileNames()));
       donationBoardRepository.deleteById(tno);
   }
 
   @Override
   public PageResponseDTO<DonationBoardDTO> list(PageRequestDTO pageRequestDTO) {
+      if (pageRequestDTO.getAfter() != null) {
+          return cursorList(pageRequestDTO, null);
+      }
+
       Pageable pageable = PageRequest.of(
           pageRequestDTO.getPage() - 1,
           pageRequestDTO.getSize(),
           Sort.by("tno").descending()
       );
 
-      Page<DonationBoard> result = donationBoardRepository.findAllWithImages(pageable);
-
-      List<DonationBoardDTO> dtoList = result.getContent().stream()
-          .map(donationBoard -> {
-              DonationBoardDTO dto = modelMapper.map(donationBoard, DonationBoardDTO.class);
-
-              // uploadFileNames 는 List<String> 이므로 바로 세팅
-              dto.setUploadFileNames(donationBoard.getUploadFileNames());
+      Page<Long> result = donationBoardRepository.findTnoPage(pageable);
 
-              return dto;
-          })
-          .collect(Collectors.toList());
+      List<DonationBoardDTO> dtoList = loadWithImages(result.getContent());
 
       long totalCount = result.getTotalElements();
 
@@ -114,6 +120,10 @@ public class DonationBoardServiceImpl implements DonationBoardService {
   @Override
   public PageResponseDTO<DonationBoardDTO> listByCategory(PageRequestDTO pageRequestDTO, DonationCategory category) {
       log.info("카테고리별 조회 시작: {}", category);
+
+      if (pageRequestDTO.getAfter() != null) {
+          return cursorList(pageRequestDTO, category);
+      }
       
       Pageable pageable = PageRequest.of(
           pageRequestDTO.getPage() - 1,
@@ -121,11 +131,31 @@ public class DonationBoardServiceImpl implements DonationBoardService {
           Sort.by("tno").descending()
       );
 
-      Page<DonationBoard> result = donationBoardRepository.findByCategoryWithImages(category, pageable);
+      Page<Long> result = donationBoardRepository.findTnoPageByCategory(category, pageable);
       
       log.info("카테고리별 조회 결과: 총 {}개 항목", result.getTotalElements());
 
-      List<DonationBoardDTO> dtoList = result.getContent().stream()
+      List<DonationBoardDTO> dtoList = loadWithImages(result.getContent());
+
+      long totalCount = result.getTotalElements();
+
+      return PageResponseDTO.<DonationBoardDTO>withAll()
+          .dtoList(dtoList)
+          .pageRequestDTO(pageRequestDTO)
+          .totalCount(totalCount)
+          .build();
+  }
+
+  // 페이지에 해당하는 tno 들의 게시글 + 이미지를 한 번에 읽고 tno 목록 순서대로 DTO 변환
+  private List<DonationBoardDTO> loadWithImages(List<Long> tnos) {
+      if (tnos.isEmpty()) return List.of();
+
+      Map<Long, DonationBoard> boards = donationBoardRepository.findAllWithImagesByTnoIn(tnos).stream()
+          .collect(Collectors.toMap(DonationBoard::getTno, Function.identity()));
+
+      return tnos.stream()
+          .map(boards::get)
+          .filter(Objects::nonNull)
           .map(donationBoard -> {
               DonationBoardDTO dto = modelMapper.map(donationBoard, DonationBoardDTO.class);
 
@@ -135,13 +165,34 @@ public class DonationBoardServiceImpl implements DonationBoardService {
               return dto;
           })
           .collect(Collectors.toList());
+  }
 
-      long totalCount = result.getTotalElements();
+  // 커서 페이징 - tno < after 인 게시글을 size + 1 개 읽어 다음 페이지 여부를 판단 (count 쿼리 없음)
+  private PageResponseDTO<DonationBoardDTO> cursorList(PageRequestDTO pageRequestDTO, DonationCategory category) {
+      long after = PageCursor.decode(pageRequestDTO.getAfter());
+      int size = Math.max(pageRequestDTO.getSize(), 1);
 
-      return PageResponseDTO.<DonationBoardDTO>withAll()
+      List<DonationBoard> rows = category == null
+          ? donationBoardRepository.findAfter(after, Limit.of(size + 1))
+          : donationBoardRepository.findByCategoryAfter(category, after, Limit.of(size + 1));
+
+      boolean hasNext = rows.size() > size;
+      if (hasNext) {
+          rows = rows.subList(0, size);
+      }
+
+      List<DonationBoardDTO> dtoList = rows.stream()
+          .map(donationBoard -> {
+              DonationBoardDTO dto = modelMapper.map(donationBoard, DonationBoardDTO.class);
+              dto.setUploadFileNames(donationBoard.getUploadFileNames());
+              return dto;
+          })
+          .collect(Collectors.toList());
+
+      return PageResponseDTO.<DonationBoardDTO>withCursor()
           .dtoList(dtoList)
           .pageRequestDTO(pageRequestDTO)
-          .totalCount(totalCount)
+          .nextCursor(hasNext ? PageCursor.encode(rows.get(size - 1).getTno()) : null)
           .build();
   }
 }
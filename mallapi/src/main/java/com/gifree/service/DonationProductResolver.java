@@ -0,0 +1,88 @@
+package com.gifree.service;
+
+import java.util.List;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.gifree.domain.Product;
+import com.gifree.repository.ProductRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * 기부 전용 상품(pname, brand 모두 "기부")의 pno 를 한 번만 조회해 캐시한다.
+ * 장바구니/주문/보관함/목록에서 기부 상품 여부를 판단할 때 상품 테이블 전체를 읽지 않도록 하기 위함.
+ *
+ * ProductChangedEvent 가 커밋되면 캐시된 상품이 바뀌었거나 아직 기부 상품이 없던 경우에만 다시 조회한다.
+ */
+@Component
+@Log4j2
+@RequiredArgsConstructor
+public class DonationProductResolver {
+
+  public static final String DONATION_LABEL = "기부";
+
+  private final ProductRepository productRepository;
+
+  private final ApplicationEventPublisher eventPublisher;
+
+  // null 이면 아직 조회 전, Lookup.pno 가 null 이면 기부 상품이 없음
+  private volatile Lookup lookup;
+
+  /** 기부 전용 상품 번호 (없으면 null) */
+  public Long getPno() {
+    Lookup current = lookup;
+    if (current == null) {
+      List<Long> pnos = productRepository.selectDonationPno(Limit.of(1));
+      current = new Lookup(pnos.isEmpty() ? null : pnos.get(0));
+      lookup = current;
+
+      log.info("donation product pno: {}", current.pno());
+    }
+    return current.pno();
+  }
+
+  public boolean isDonation(Long pno) {
+    return pno != null && pno.equals(getPno());
+  }
+
+  /** 상품명이나 브랜드가 "기부"인 상품 (판매 목록/보관함에서 제외하는 기준) */
+  public static boolean isDonationLabel(String pname, String brand) {
+    return DONATION_LABEL.equals(pname) || DONATION_LABEL.equals(brand);
+  }
+
+  /** 기부 내역에 연결할 기부 전용 상품. 없으면 새로 만든다 (호출하는 쪽 트랜잭션 안에서 실행) */
+  public Product getOrCreate() {
+    Long pno = getPno();
+    if (pno != null) {
+      return productRepository.getReferenceById(pno);
+    }
+
+    Product product = productRepository.save(Product.builder()
+        .pname(DONATION_LABEL)
+        .brand(DONATION_LABEL)
+        .price(0) // 기부용 상품은 가격 0
+        .pdesc("기부 전용 상품입니다.")
+        .build());
+
+    // 커밋되면 onProductChanged 에서 캐시를 비워 새 상품 번호를 다시 읽도록 함
+    eventPublisher.publishEvent(ProductChangedEvent.of(product.getPno()));
+    return product;
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onProductChanged(ProductChangedEvent event) {
+    Lookup current = lookup;
+    if (current == null) return;
+
+    if (current.pno() == null || event.getPnos().contains(current.pno())) {
+      lookup = null;
+    }
+  }
+
+  private record Lookup(Long pno) {}
+}
@@ -3,15 +3,14 @@ package com.gifree.service;
 import com.gifree.domain.DonationProducts;
 import com.gifree.domain.Member;
 import com.gifree.domain.Product;
-import com.gifree.domain.ProductImage;
 import com.gifree.dto.DonationRequestDTO;
 import com.gifree.repository.DonationProductsRepository;
 import com.gifree.repository.MemberRepository;
-import com.gifree.repository.ProductRepository;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
@@ -24,7 +23,8 @@ public class DonationProductsServiceImpl implements DonationProductsService {
 
     private final DonationProductsRepository donationProductsRepository;
     private final MemberRepository memberRepository;
-    private final ProductRepository productRepository;
+    private final DonationProductResolver donationProductResolver;
+    private final StoredFileService storedFileService;
 
     @Override
     @Transactional 
@@ -34,21 +34,8 @@ public class DonationProductsServiceImpl implements DonationProductsService {
         Member donor = memberRepository.findById(request.getDonorEmail())
                 .orElseThrow(() -> new IllegalArgumentException("기부자 회원이 존재하지 않습니다."));
 
-        // 기부 전용 상품을 찾거나 생성합니다 (기부용 더미 상품)
-        // 기부용 상품이 없으면 새로 생성
-        Product donationProduct = productRepository.findAll().stream()
-                .filter(p -> "기부".equals(p.getPname()) && "기부".equals(p.getBrand()))
-                .findFirst()
-                .orElseGet(() -> {
-                    // 기부용 상품이 없으면 생성
-                    Product newDonationProduct = Product.builder()
-                            .pname("기부")
-                            .brand("기부")
-                            .price(0) // 기부용 상품은 가격 0
-                            .pdesc("기부 전용 상품입니다.")
-                            .build();
-                    return productRepository.save(newDonationProduct);
-                });
+        // 기부 전용 상품 (캐시된 번호로 참조하고, 없으면 생성)
+        Product donationProduct = donationProductResolver.getOrCreate();
 
         // DonationProducts 엔티티를 생성합니다.
         DonationProducts donation = DonationProducts.builder()
@@ -62,7 +49,9 @@ public class DonationProductsServiceImpl implements DonationProductsService {
                 .build();
 
         // DonationProducts를 저장합니다.
-        return donationProductsRepository.save(donation);
+        DonationProducts saved = donationProductsRepository.save(donation);
+        storedFileService.retain(Collections.singletonList(saved.getUserImageFile()));
+        return saved;
     }
 
     @Override
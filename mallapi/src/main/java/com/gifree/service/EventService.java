@@ -2,6 +2,7 @@ package com.gifree.service;
 
 import com.gifree.domain.Event;
 import com.gifree.dto.PageRequestDTO;
+import com.gifree.dto.PageResponseDTO;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,6 +17,9 @@ public interface EventService {
     // ✅ 추가된 페이징 기능
     List<Event> getList(PageRequestDTO requestDTO);
     long getTotalCount();
+
+    // 커서 페이징 (after 가 있을 때) - count 없이 다음 커서만 계산
+    PageResponseDTO<Event> getCursorList(PageRequestDTO requestDTO);
     
 
 }
\ No newline at end of file
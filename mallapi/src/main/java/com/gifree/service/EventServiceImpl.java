@@ -2,14 +2,18 @@ package com.gifree.service;
 
 import com.gifree.domain.Event;
 import com.gifree.dto.PageRequestDTO;
+import com.gifree.dto.PageResponseDTO;
 import com.gifree.repository.EventRepository;
+import com.gifree.util.PageCursor;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,9 +22,11 @@ import java.util.Optional;
 public class EventServiceImpl implements EventService {
 
     private final EventRepository eventRepository;
+    private final StoredFileService storedFileService;
 
-    public EventServiceImpl(EventRepository eventRepository) {
+    public EventServiceImpl(EventRepository eventRepository, StoredFileService storedFileService) {
         this.eventRepository = eventRepository;
+        this.storedFileService = storedFileService;
     }
 
     @Override
@@ -37,12 +43,16 @@ public class EventServiceImpl implements EventService {
 
     @Override
     public Event createEvent(Event event) {
-        return eventRepository.save(event);
+        Event saved = eventRepository.save(event);
+        storedFileService.retain(Collections.singletonList(saved.getImageUrl()));
+        return saved;
     }
 
     @Override
     public Event updateEvent(Long id, Event updatedEvent) {
         return eventRepository.findById(id).map(event -> {
+            storedFileService.replace(Collections.singletonList(event.getImageUrl()),
+                    Collections.singletonList(updatedEvent.getImageUrl()));
             event.setTitle(updatedEvent.getTitle());
             event.setDescription(updatedEvent.getDescription());
             event.setImageUrl(updatedEvent.getImageUrl());
@@ -57,6 +67,8 @@ public class EventServiceImpl implements EventService {
 
     @Override
     public void deleteEvent(Long id) {
+        eventRepository.findById(id)
+                .ifPresent(event -> storedFileService.release(Collections.singletonList(event.getImageUrl())));
         eventRepository.deleteById(id);
     }
 
@@ -78,5 +90,23 @@ public class EventServiceImpl implements EventService {
         return eventRepository.count();
     }
 
+    // ✅ 커서 페이징 - size + 1 개를 읽어 다음 페이지 여부 판단
+    @Override
+    public PageResponseDTO<Event> getCursorList(PageRequestDTO requestDTO) {
+        long after = PageCursor.decode(requestDTO.getAfter());
+        int size = Math.max(requestDTO.getSize(), 1);
+
+        List<Event> rows = eventRepository.findByIdLessThanOrderByIdDesc(after, Limit.of(size + 1));
+
+        boolean hasNext = rows.size() > size;
+        List<Event> list = hasNext ? rows.subList(0, size) : rows;
+
+        return PageResponseDTO.<Event>withCursor()
+                .dtoList(list)
+                .pageRequestDTO(requestDTO)
+                .nextCursor(hasNext ? PageCursor.encode(list.get(size - 1).getId()) : null)
+                .build();
+    }
+
 
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.gifree.service;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 회원의 닉네임/소셜 여부/권한이 바뀌었음을 알리는 이벤트.
+ * 커밋 이후 회원 인증 정보 캐시(MemberPrincipalCache)에서 그 회원을 지우고, 그 전에 발급된 토큰을 회수(다시 로그인 필요)하는 데 사용한다.
+ * 권한(memberRoleList)을 바꾸는 코드도 이 이벤트를 발행해야 한다.
+ */
+@Getter
+@ToString
+public class MemberChangedEvent {
+
+  private final String email;
+
+  public MemberChangedEvent(String email) {
+    this.email = email;
+  }
+}
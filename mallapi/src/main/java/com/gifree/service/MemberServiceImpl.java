@@ -3,6 +3,7 @@ package com.gifree.service;
 import java.util.LinkedHashMap;
 import java.util.Optional;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -29,6 +30,7 @@ public class MemberServiceImpl implements MemberService {
 
   private final MemberRepository memberRepository;
   private final PasswordEncoder passwordEncoder;
+  private final ApplicationEventPublisher eventPublisher;
 
 
   @Override
@@ -138,6 +140,9 @@ public class MemberServiceImpl implements MemberService {
 
     memberRepository.save(member);
 
+    // 캐시된 닉네임/소셜 여부와 검증된 토큰을 비움
+    eventPublisher.publishEvent(new MemberChangedEvent(member.getEmail()));
+
   }
   
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.gifree.service;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 주문 후속 작업이 대기열에 저장되었음을 알리는 이벤트.
+ * 주문 트랜잭션이 커밋되면 OrderOutboxWorker 가 폴링을 기다리지 않고 바로 처리를 시작한다.
+ */
+@Getter
+@ToString
+public class OrderOutboxEvent {
+
+  private final List<Long> ids;
+
+  public OrderOutboxEvent(List<Long> ids) {
+    this.ids = List.copyOf(ids);
+  }
+}
@@ -0,0 +1,23 @@
+package com.gifree.service;
+
+import java.util.List;
+
+import com.gifree.domain.Order;
+
+public interface OrderOutboxService {
+
+    // 주문 후속 작업(보관함 추가, 랜덤박스 기회 지급)을 대기열에 저장 (주문과 같은 트랜잭션에서 호출)
+    void enqueue(Order order, int amount);
+
+    // 지금 처리할 수 있는 작업 번호 조회
+    List<Long> findDue(int limit);
+
+    // 작업을 임대하고 임대 토큰을 반환 (이미 처리됐거나 다른 워커가 처리 중이면 null)
+    String claim(Long id);
+
+    // 임대한 작업을 실행하고 완료 처리 (실패하면 작업 내용까지 모두 롤백)
+    void process(Long id, String token);
+
+    // 실패 횟수를 늘리고 다음 재시도 시각을 지정 (최대 횟수를 넘기면 FAILED)
+    void fail(Long id, String token, Exception cause);
+}
@@ -0,0 +1,151 @@
+package com.gifree.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gifree.domain.Collection;
+import com.gifree.domain.Order;
+import com.gifree.domain.OrderOutbox;
+import com.gifree.repository.OrderOutboxRepository;
+import com.gifree.repository.OrderRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+@Service
+@RequiredArgsConstructor
+@Log4j2
+@Transactional
+public class OrderOutboxServiceImpl implements OrderOutboxService {
+
+    // 작업 하나를 처리하는 동안 다른 워커가 가져가지 못하는 시간 (넘기면 죽은 것으로 보고 다시 처리)
+    private static final Duration LEASE = Duration.ofMinutes(1);
+
+    private static final int MAX_ATTEMPTS = 10;
+
+    // 재시도 간격은 2, 4, 8 ... 초로 늘리되 10분을 넘기지 않음
+    private static final long MAX_BACKOFF_SECONDS = 600;
+
+    private final OrderOutboxRepository orderOutboxRepository;
+    private final OrderRepository orderRepository;
+    private final CollectionService collectionService;
+    private final RandomBoxChanceService randomBoxChanceService;
+    private final DonationProductResolver donationProductResolver;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void enqueue(Order order, int amount) {
+        List<OrderOutbox> jobs = new ArrayList<>();
+
+        // 기부 상품만 주문했으면 보관함에 넣을 상품이 없음
+        boolean hasCollectible = order.getItems().stream()
+                .anyMatch(item -> !donationProductResolver.isDonation(item.getPno()));
+        if (hasCollectible) {
+            jobs.add(OrderOutbox.of(OrderOutbox.Type.COLLECTION, order, amount));
+        }
+
+        if (amount > 0) {
+            jobs.add(OrderOutbox.of(OrderOutbox.Type.RANDOMBOX, order, amount));
+        } else {
+            log.info("총 구매금액이 0원이므로 랜덤박스 기회 추가하지 않음");
+        }
+
+        if (jobs.isEmpty()) return;
+
+        List<Long> ids = orderOutboxRepository.saveAll(jobs).stream().map(OrderOutbox::getId).toList();
+        eventPublisher.publishEvent(new OrderOutboxEvent(ids));
+
+        log.info("주문 후속 작업 등록 - ono: {}, 작업: {}", order.getOno(), ids);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> findDue(int limit) {
+        return orderOutboxRepository.selectDue(OrderOutbox.Status.PENDING, LocalDateTime.now(), Limit.of(limit));
+    }
+
+    @Override
+    public String claim(Long id) {
+        String token = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+
+        int claimed = orderOutboxRepository.claim(id, OrderOutbox.Status.PENDING, token, now, now.plus(LEASE));
+        return claimed == 1 ? token : null;
+    }
+
+    @Override
+    public void process(Long id, String token) {
+        OrderOutbox job = orderOutboxRepository.findById(id).orElseThrow();
+
+        switch (job.getType()) {
+            case COLLECTION -> addToCollection(job);
+            // 누적 구매 원장 기준으로 부족한 만큼만 지급하므로 다시 실행해도 중복 지급되지 않음
+            case RANDOMBOX -> randomBoxChanceService.addChancesFromPurchase(job.getMemberEmail(), job.getAmount());
+        }
+
+        // 보관함 추가와 완료 표시는 한 트랜잭션 - 임대를 빼앗겼으면 롤백해서 두 번 반영되지 않게 함
+        int updated = orderOutboxRepository.complete(id, token, OrderOutbox.Status.DONE, job.getAttempts() + 1,
+                job.getNextAttemptAt(), null, LocalDateTime.now());
+        if (updated == 0) {
+            throw new IllegalStateException("outbox lease lost - id: " + id);
+        }
+
+        log.info("주문 후속 작업 완료 - {} ono: {}, 사용자: {}", job.getType(), job.getOno(), job.getMemberEmail());
+    }
+
+    @Override
+    public void fail(Long id, String token, Exception cause) {
+        OrderOutbox job = orderOutboxRepository.findById(id).orElse(null);
+        if (job == null) return;
+
+        int attempts = job.getAttempts() + 1;
+        boolean giveUp = attempts >= MAX_ATTEMPTS;
+        long backoff = Math.min(1L << Math.min(attempts, 20), MAX_BACKOFF_SECONDS);
+
+        String error = String.valueOf(cause.getMessage());
+        if (error.length() > 500) {
+            error = error.substring(0, 500);
+        }
+
+        orderOutboxRepository.complete(id, token,
+                giveUp ? OrderOutbox.Status.FAILED : OrderOutbox.Status.PENDING,
+                attempts, LocalDateTime.now().plusSeconds(backoff), error, null);
+
+        if (giveUp) {
+            log.error("주문 후속 작업 실패 (재시도 중단) - {} ono: {}, 시도: {}, 오류: {}",
+                    job.getType(), job.getOno(), attempts, error);
+        } else {
+            log.warn("주문 후속 작업 실패 - {} ono: {}, 시도: {}, {}초 후 재시도, 오류: {}",
+                    job.getType(), job.getOno(), attempts, backoff, error);
+        }
+    }
+
+    // 구매 상품을 보관함에 추가 (기부 상품 제외)
+    private void addToCollection(OrderOutbox job) {
+        Order order = orderRepository.selectWithItems(List.of(job.getOno())).stream()
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("order not found - ono: " + job.getOno()));
+
+        List<Collection> collections = order.getItems().stream()
+                .filter(item -> !donationProductResolver.isDonation(item.getPno()))
+                .map(item -> Collection.builder()
+                        .memberEmail(job.getMemberEmail())
+                        .pno(item.getPno())
+                        .pname(item.getPname())
+                        .price(item.getPrice())
+                        .uploadFileNames(item.getImageFile()) // 첫 번째 이미지 파일명
+                        .source("purchase")
+                        .build())
+                .toList();
+
+        collectionService.addAllToCollection(collections);
+    }
+}
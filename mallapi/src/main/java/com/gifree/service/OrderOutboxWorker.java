@@ -0,0 +1,69 @@
+package com.gifree.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * 주문 후속 작업 대기열(tbl_order_outbox)을 outboxExecutor 스레드 풀에서 처리한다.
+ *
+ * 주문이 커밋되면 OrderOutboxEvent 로 바로 처리를 시작하고, 서버가 죽었거나 큐가 가득 차서
+ * 처리되지 못한 작업과 재시도 시각이 된 작업은 주기적인 폴링으로 다시 가져간다.
+ * 같은 작업이 여러 번 전달되어도 임대(claim)에 성공한 워커 하나만 실행한다.
+ */
+@Component
+@Log4j2
+public class OrderOutboxWorker {
+
+  private static final int POLL_BATCH_SIZE = 100;
+
+  private final OrderOutboxService orderOutboxService;
+
+  private final TaskExecutor outboxExecutor;
+
+  public OrderOutboxWorker(OrderOutboxService orderOutboxService,
+                           @Qualifier("outboxExecutor") TaskExecutor outboxExecutor) {
+    this.orderOutboxService = orderOutboxService;
+    this.outboxExecutor = outboxExecutor;
+  }
+
+  // 주문 트랜잭션 커밋 후에만 실행 (롤백된 주문의 작업은 존재하지 않음)
+  @TransactionalEventListener
+  public void onEnqueued(OrderOutboxEvent event) {
+    event.getIds().forEach(this::dispatch);
+  }
+
+  @Scheduled(fixedDelayString = "${com.gifree.outbox.poll-delay-ms:5000}")
+  public void poll() {
+    orderOutboxService.findDue(POLL_BATCH_SIZE).forEach(this::dispatch);
+  }
+
+  private void dispatch(Long id) {
+    try {
+      outboxExecutor.execute(() -> run(id));
+    } catch (TaskRejectedException e) {
+      log.debug("outbox executor full - id: {} (다음 폴링 때 처리)", id);
+    }
+  }
+
+  private void run(Long id) {
+    String token = orderOutboxService.claim(id);
+    if (token == null) return;
+
+    try {
+      orderOutboxService.process(id, token);
+    } catch (Exception e) {
+      try {
+        orderOutboxService.fail(id, token, e);
+      } catch (Exception failure) {
+        // 실패 기록도 못 했으면 임대가 만료된 뒤 다시 처리됨
+        log.error("outbox 실패 기록 오류 - id: {}, 오류: {}", id, failure.getMessage());
+      }
+    }
+  }
+}
@@ -3,6 +3,8 @@ package com.gifree.service;
 
 import com.gifree.dto.OrderRequestDTO;
 import com.gifree.dto.OrderResponseDTO;
+import com.gifree.dto.PageRequestDTO;
+import com.gifree.dto.PageResponseDTO;
 
 import java.util.List;
 
@@ -15,6 +17,11 @@ public interface OrderService {
     void markProductsDeletedByReceipt(String receiptId);
 
     List<OrderResponseDTO> getOrderHistoryByEmail(String email);
+
+    /**
+     * 구매내역 페이지 조회 (최신 주문순)
+     */
+    PageResponseDTO<OrderResponseDTO> getOrderHistoryPage(String email, PageRequestDTO pageRequestDTO);
     
     /**
      * 사용자의 총 구매 금액 조회
@@ -3,11 +3,17 @@ package com.gifree.service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.ArrayList;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,11 +21,14 @@ import com.gifree.domain.Order;
 import com.gifree.domain.OrderItem;
 import com.gifree.domain.Product;
 import com.gifree.dto.OrderRequestDTO;
+import com.gifree.dto.PageRequestDTO;
+import com.gifree.dto.PageResponseDTO;
 import com.gifree.dto.OrderResponseDTO;
 import com.gifree.dto.OrderItemResponseDTO;
 import com.gifree.repository.OrderRepository;
 import com.gifree.repository.OrderItemRepository;
 import com.gifree.repository.ProductRepository;
+import com.gifree.util.ProductSoldOutException;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -32,9 +41,10 @@ public class OrderServiceImpl implements OrderService {
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
     private final ProductRepository productRepo;
-    
-    @Autowired
-    private ApplicationContext applicationContext;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DonationProductResolver donationProductResolver;
+    private final PurchaseLedgerService purchaseLedgerService;
+    private final OrderOutboxService orderOutboxService;
 
     @Override
     public OrderResponseDTO placeOrder(OrderRequestDTO req) {
@@ -50,24 +60,41 @@ public class OrderServiceImpl implements OrderService {
             .receiptId(req.getReceiptId()) // 영수증 ID 저장 (null 가능)
             .build();
 
-        // 2) OrderItem 생성·추가
+        // 2) 주문 상품 + 이미지를 한 번에 조회
+        List<Long> pnos = req.getItems().stream()
+            .map(OrderRequestDTO.Item::getPno)
+            .distinct()
+            .toList();
+
+        Map<Long, Product> products = productRepo.selectWithImages(pnos).stream()
+            .collect(Collectors.toMap(Product::getPno, Function.identity()));
+
+        // 기부 전용 상품은 수량 제한이 없으므로 예약 대상에서 제외
+        List<Long> reservePnos = pnos.stream()
+            .filter(pno -> !donationProductResolver.isDonation(pno))
+            .toList();
+
+        // 조회 시점에 이미 판매된 상품이 있으면 바로 실패
+        List<Long> soldOut = reservePnos.stream()
+            .filter(pno -> products.containsKey(pno) && products.get(pno).isDelFlag())
+            .toList();
+        if (!soldOut.isEmpty()) {
+            throw new ProductSoldOutException(soldOut);
+        }
+
+        // 3) OrderItem 생성·추가
         req.getItems().forEach(i -> {
-            log.info("상품 처리 중 - pno: {}, qty: {}", i.getPno(), i.getQty());
-            
-            // 상품 정보 조회
-            Product product = productRepo.findById(i.getPno())
-                .orElseThrow(() -> new IllegalArgumentException("Invalid pno: " + i.getPno()));
-            
-            log.info("상품 정보 조회 - pname: {}, price: {}", product.getPname(), product.getPrice());
-            
+            Product product = products.get(i.getPno());
+            if (product == null) {
+                throw new IllegalArgumentException("Invalid pno: " + i.getPno());
+            }
+
             // 이미지 파일명 가져오기 (첫 번째 이미지 사용)
             String imageFile = null;
             if (product.getImageList() != null && !product.getImageList().isEmpty()) {
                 imageFile = product.getImageList().get(0).getFileName();
-                log.info("이미지 파일명: {}", imageFile);
             }
 
-            // OrderItem 생성
             OrderItem orderItem = OrderItem.builder()
                 .pno(i.getPno())
                 .pname(product.getPname()) // 상품명 저장
@@ -75,73 +102,44 @@ public class OrderServiceImpl implements OrderService {
                 .price(product.getPrice()) // 상품 가격 저장
                 .imageFile(imageFile) // 이미지 파일명 저장
                 .build();
-            
-            log.info("OrderItem 생성 완료 - pname: {}, qty: {}, price: {}, imageFile: {}", 
-                orderItem.getPname(), orderItem.getQty(), orderItem.getPrice(), orderItem.getImageFile());
-            
+
             // Order에 OrderItem 추가 (양방향 관계 설정)
             order.addItem(orderItem);
-            
-            log.info("OrderItem을 Order에 추가 완료 - order.ono: {}", order.getOno());
-
-            // 3) 주문 즉시 상품 hidden 처리 (delFlag = true)
-            productRepo.updateToDelete(i.getPno(), true);
         });
 
-        log.info("주문 저장 전 - items 크기: {}", order.getItems().size());
-        
-        // 주문 저장
-        Order savedOrder = orderRepository.save(order);
-        
-        log.info("주문 저장 완료 - ono: {}, items 크기: {}", savedOrder.getOno(), savedOrder.getItems().size());
-        
-        // 저장 후 OrderItem이 실제로 데이터베이스에 저장되었는지 확인
-        List<OrderItem> savedItems = orderItemRepository.findByOrderOno(savedOrder.getOno());
-        log.info("데이터베이스에서 조회한 OrderItem 수: {}", savedItems.size());
-        
-        // 구매 상품을 보관함에 자동 추가 (기부 상품 제외)
-        try {
-            CollectionService collectionService = applicationContext.getBean(CollectionService.class);
-            for (OrderItem item : savedItems) {
-                // 기부 상품은 보관함에 추가하지 않음
-                if (!"기부".equals(item.getPname())) {
-                String imageFile = item.getImageFile();
-                collectionService.addToCollection(
-                    req.getMemberId(),
-                    item.getPno(),
-                    item.getPname(),
-                    item.getPrice(),
-                    null, // pdesc는 주문에 없으므로 null
-                    null, // brand도 주문에 없으므로 null
-                    imageFile, // uploadFileNames는 첫 번째 이미지 파일명
-                    "purchase" // source
-                );
-                }
+        // 4) 주문 즉시 상품 hidden 처리 (delFlag = true) - 한 번의 조건부 UPDATE
+        // 동시에 같은 상품을 주문하면 먼저 커밋한 주문만 행이 바뀌므로, 개수가 모자라면 롤백
+        if (!reservePnos.isEmpty()) {
+            int reserved = productRepo.reserveAll(reservePnos);
+            if (reserved != reservePnos.size()) {
+                log.warn("상품 예약 실패 - 요청: {}, 예약: {}", reservePnos.size(), reserved);
+                throw new ProductSoldOutException(reservePnos);
             }
-            log.info("구매 상품을 보관함에 자동 추가 완료 - 사용자: {}", req.getMemberId());
-        } catch (Exception e) {
-            log.error("구매 상품 보관함 자동 추가 실패 - 사용자: {}, 오류: {}", req.getMemberId(), e.getMessage());
         }
+
+        // 주문 저장 (OrderItem 은 시퀀스 id 를 쓰므로 flush 시 JDBC batch insert)
+        Order savedOrder = orderRepository.save(order);
+        List<OrderItem> savedItems = savedOrder.getItems();
+        
+        log.info("주문 저장 완료 - ono: {}, items 크기: {}", savedOrder.getOno(), savedItems.size());
+
+        eventPublisher.publishEvent(new ProductChangedEvent(pnos));
         
-        // 구매 금액에 따른 랜덤박스 기회 추가 (10,000원당 1회)
+        // 구매 금액에 따른 랜덤박스 기회 추가 (10,000원당 1회, 기부 상품 제외)
         int totalAmount = savedItems.stream()
+                .filter(item -> !donationProductResolver.isDonation(item.getPno()))
                 .mapToInt(item -> item.getPrice() * item.getQty())
                 .sum();
         
         log.info("총 구매금액 계산: {}원", totalAmount);
-        
+
+        // 누적 구매 금액은 주문과 같은 트랜잭션에서 원장에 반영
         if (totalAmount > 0) {
-            try {
-                RandomBoxChanceService randomBoxChanceService = applicationContext.getBean(RandomBoxChanceService.class);
-                log.info("RandomBoxChanceService 빈 조회 성공");
-                randomBoxChanceService.addChancesFromPurchase(req.getMemberId(), totalAmount);
-                log.info("주문 완료로 인한 랜덤박스 기회 추가 완료 - 사용자: {}, 총 구매금액: {}", req.getMemberId(), totalAmount);
-            } catch (Exception e) {
-                log.error("랜덤박스 기회 추가 실패 - 사용자: {}, 총 구매금액: {}, 오류: {}", req.getMemberId(), totalAmount, e.getMessage());
-            }
-        } else {
-            log.info("총 구매금액이 0원이므로 랜덤박스 기회 추가하지 않음");
+            purchaseLedgerService.record(req.getMemberId(), totalAmount);
         }
+
+        // 보관함 추가, 랜덤박스 기회 지급은 같은 트랜잭션에서 대기열에만 저장하고 커밋 후 백그라운드에서 처리
+        orderOutboxService.enqueue(savedOrder, totalAmount);
         
         return OrderResponseDTO.builder()
             .ono(savedOrder.getOno())
@@ -154,25 +152,64 @@ public class OrderServiceImpl implements OrderService {
         Order order = orderRepository.findByReceiptId(receiptId)
             .orElseThrow(() -> new IllegalArgumentException("Invalid receiptId: " + receiptId));
 
-        // 2) 해당 주문의 모든 아이템에 대해 del_flag = true 처리
-        for (OrderItem item : order.getItems()) {
-            productRepo.updateToDelete(item.getPno(), true);
-        }
+        // 2) 해당 주문의 모든 아이템에 대해 del_flag = true 처리 (한 번의 UPDATE)
+        List<Long> pnos = order.getItems().stream().map(OrderItem::getPno).distinct().toList();
+        productRepo.updateToDeleteAll(pnos, true);
+
+        eventPublisher.publishEvent(new ProductChangedEvent(pnos));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<OrderResponseDTO> getOrderHistoryByEmail(String email) {
         log.info("구매내역 조회 시작 - 이메일: {}", email);
-        List<Order> orders = orderRepository.findByMemberEmailOrderByOrderedAtDesc(email);
+
+        // 주문 + 아이템 1회, 정보가 빠진 아이템의 상품 1회
+        List<Order> orders = orderRepository.selectHistoryByEmail(email);
         log.info("조회된 주문 수: {}", orders.size());
 
+        return toHistory(orders);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponseDTO<OrderResponseDTO> getOrderHistoryPage(String email, PageRequestDTO pageRequestDTO) {
+        Pageable pageable = PageRequest.of(
+            pageRequestDTO.getPage() - 1,
+            pageRequestDTO.getSize(),
+            Sort.by("orderedAt").descending().and(Sort.by("ono").descending()));
+
+        // 1) 페이지에 해당하는 주문 번호 + 전체 개수
+        Page<Long> onoPage = orderRepository.selectHistoryOnoPage(email, pageable);
+        List<Long> onos = onoPage.getContent();
+
+        // 2) 해당 주문들 + 아이템을 한 번에 읽고 주문 번호 순서대로 정렬
+        Map<Long, Order> orderMap = onos.isEmpty() ? Map.of() : orderRepository.selectWithItems(onos).stream()
+            .collect(Collectors.toMap(Order::getOno, Function.identity()));
+        List<Order> orders = onos.stream().map(orderMap::get).filter(Objects::nonNull).toList();
+
+        return PageResponseDTO.<OrderResponseDTO>withAll()
+            .dtoList(toHistory(orders))
+            .pageRequestDTO(pageRequestDTO)
+            .totalCount(onoPage.getTotalElements())
+            .build();
+    }
+
+    private List<OrderResponseDTO> toHistory(List<Order> orders) {
+        // OrderItem 에 상품명/가격/이미지가 빠진 경우에만 상품 정보를 한 번에 조회
+        List<Long> fallbackPnos = orders.stream()
+            .flatMap(order -> order.getItems().stream())
+            .filter(item -> item.getImageFile() == null || item.getPname() == null || item.getPrice() == 0)
+            .map(OrderItem::getPno)
+            .distinct()
+            .toList();
+
+        Map<Long, Product> products = fallbackPnos.isEmpty() ? Map.of() : productRepo.selectWithImages(fallbackPnos).stream()
+            .collect(Collectors.toMap(Product::getPno, Function.identity()));
+
         return orders.stream()
             .map(order -> {
-                log.info("주문 처리 중 - 주문번호: {}", order.getOno());
-                
-                // OrderItemRepository를 통해 실제 데이터베이스에서 OrderItem 조회
-                List<OrderItem> orderItems = orderItemRepository.findByOrderOno(order.getOno());
-                log.info("주문 {}의 OrderItem 수: {}", order.getOno(), orderItems.size());
+                List<OrderItem> orderItems = order.getItems();
 
                 List<OrderItemResponseDTO> orderItemDTOs;
                 if (orderItems.isEmpty()) {
@@ -190,44 +227,34 @@ public class OrderServiceImpl implements OrderService {
                     orderItemDTOs.add(defaultItem);
                 } else {
                     orderItemDTOs = orderItems.stream()
-                        .filter(item -> !"기부".equals(item.getPname())) // 기부 상품 필터링
+                        .filter(item -> !donationProductResolver.isDonation(item.getPno())) // 기부 상품 필터링
                         .map(item -> {
-                            log.info("주문 아이템 처리 - 상품번호: {}, 상품명: {}, 수량: {}, 가격: {}, 이미지: {}",
-                                item.getPno(), item.getPname(), item.getQty(), item.getPrice(), item.getImageFile());
-
                             // OrderItem에 저장된 정보를 우선 사용
                             String imageFile = item.getImageFile();
                             String pname = item.getPname();
                             int price = item.getPrice();
 
-                            // OrderItem에 정보가 없으면 Product에서 조회
-                            if (imageFile == null || pname == null || price == 0) {
-                                Product product = productRepo.findById(item.getPno()).orElse(null);
-                                if (product != null) {
-                                    if (pname == null) {
-                                        pname = product.getPname();
-                                    }
-                                    if (price == 0) {
-                                        price = product.getPrice();
-                                    }
-                                    if (imageFile == null && product.getImageList() != null && !product.getImageList().isEmpty()) {
-                                        imageFile = product.getImageList().get(0).getFileName();
-                                    }
+                            // OrderItem에 정보가 없으면 미리 조회한 Product 사용
+                            Product product = products.get(item.getPno());
+                            if (product != null) {
+                                if (pname == null) {
+                                    pname = product.getPname();
+                                }
+                                if (price == 0) {
+                                    price = product.getPrice();
+                                }
+                                if (imageFile == null && product.getImageList() != null && !product.getImageList().isEmpty()) {
+                                    imageFile = product.getImageList().get(0).getFileName();
                                 }
                             }
 
-                            OrderItemResponseDTO dto = OrderItemResponseDTO.builder()
+                            return OrderItemResponseDTO.builder()
                                 .pno(item.getPno())
                                 .pname(pname != null ? pname : "상품명 없음")
                                 .qty(item.getQty())
                                 .price(price)
                                 .imageFile(imageFile)
                                 .build();
-
-                            log.info("생성된 DTO - 상품명: {}, 수량: {}, 가격: {}, 이미지: {}",
-                                dto.getPname(), dto.getQty(), dto.getPrice(), dto.getImageFile());
-
-                            return dto;
                         })
                         .collect(Collectors.toList());
                 }
@@ -246,22 +273,7 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     public int getTotalPurchaseAmount(String email) {
-        log.info("총 구매 금액 조회 시작 - 이메일: {}", email);
-        
-        List<Order> orders = orderRepository.findByMemberEmailOrderByOrderedAtDesc(email);
-        int totalAmount = 0;
-        
-        for (Order order : orders) {
-            List<OrderItem> orderItems = orderItemRepository.findByOrderOno(order.getOno());
-            for (OrderItem item : orderItems) {
-                // 기부 상품은 총 구매 금액에서 제외
-                if (!"기부".equals(item.getPname())) {
-                totalAmount += item.getPrice() * item.getQty();
-                }
-            }
-        }
-        
-        log.info("총 구매 금액: {}원", totalAmount);
-        return totalAmount;
+        // 주문할 때마다 누적해 둔 구매 원장에서 조회 (기부 상품 제외)
+        return (int) purchaseLedgerService.getTotal(email);
     }
 }
@@ -0,0 +1,164 @@
+package com.gifree.service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.gifree.dto.ProductDTO;
+import com.gifree.repository.ProductRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * 판매중(delFlag = false)인 상품 목록의 메모리 스냅샷.
+ * 첫 번째 이미지(ord = 0)까지 미리 풀어둔 ProductDTO를 pno 내림차순으로 보관하여
+ * /api/products/list 요청을 DB 조회 없이 처리한다.
+ *
+ * 검색용 ProductSearchIndex, 랜덤박스 후보 RandomBoxCandidatePool 도 같은 시점에 함께 채운다.
+ *
+ * 최초 조회 시 한 번 전체를 적재하고, 이후에는 ProductChangedEvent 가 커밋되면
+ * 변경된 상품만 다시 읽어 갱신한다. 보관 중인 DTO는 모든 요청이 같이 보므로 밖으로는 복사본만 돌려준다
+ * (ProductDTO 는 setter 가 있는 @Data 라 호출하는 쪽에서 값을 바꾸면 다른 요청의 목록까지 바뀜).
+ *
+ * getPage 의 OFFSET 페이지는 skip list 를 앞에서부터 건너뛰므로 (page - 1) * size 에 비례해 느려진다.
+ * 깊은 페이지까지 넘기는 목록은 getPageAfter (after 커서, tailMap 으로 바로 찾아감)를 쓴다.
+ */
+@Component
+@Log4j2
+@RequiredArgsConstructor
+public class ProductCatalogSnapshot {
+
+  private final ProductRepository productRepository;
+
+  private final ProductSearchIndex searchIndex;
+
+  private final RandomBoxCandidatePool randomBoxPool;
+
+  private final ConcurrentNavigableMap<Long, ProductDTO> products =
+      new ConcurrentSkipListMap<>(Comparator.reverseOrder());
+
+  // 적재/갱신은 이 잠금으로 직렬화하고, 조회는 잠금 없이 skip list를 읽는다.
+  private final Object writeLock = new Object();
+
+  private volatile boolean loaded;
+
+  /** OFFSET 페이지 - 앞의 (page - 1) * size 개를 건너뛰는 비용이 듦 (깊은 페이지는 getPageAfter) */
+  public List<ProductDTO> getPage(int page, int size) {
+    ensureLoaded();
+    return products.values().stream()
+        .skip((long) Math.max(page - 1, 0) * size)
+        .limit(size)
+        .map(ProductCatalogSnapshot::copyOf)
+        .toList();
+  }
+
+  /** pno 가 after 보다 작은 상품을 최대 limit 개 (커서 페이징용) */
+  public List<ProductDTO> getPageAfter(long after, int limit) {
+    ensureLoaded();
+    return products.tailMap(after, false).values().stream()
+        .limit(limit)
+        .map(ProductCatalogSnapshot::copyOf)
+        .toList();
+  }
+
+  public int size() {
+    ensureLoaded();
+    return products.size();
+  }
+
+  public ProductDTO get(Long pno) {
+    ensureLoaded();
+    return copyOf(products.get(pno));
+  }
+
+  /** 검색어와 일치하는 상품 번호 (정렬 기준은 ProductSearchIndex 참고) */
+  public List<Long> search(String keyword) {
+    ensureLoaded();
+    return searchIndex.search(keyword);
+  }
+
+  /** 랜덤박스 후보 중 무작위 상품 하나 (없으면 null) */
+  public ProductDTO pickRandomBoxCandidate() {
+    ensureLoaded();
+    Long pno = randomBoxPool.pick();
+    return pno == null ? null : copyOf(products.get(pno));
+  }
+
+  /**
+   * DB에서 이미 판매된 것으로 확인된 상품을 커밋 이벤트를 기다리지 않고 바로 제외.
+   * 트랜잭션(커넥션)을 잡은 채로 호출되므로 writeLock 을 기다리지 않는다.
+   */
+  public void evict(Long pno) {
+    removeInternal(pno);
+  }
+
+  // 커밋 직후에는 원래 트랜잭션의 커넥션으로 조회한다 (REQUIRES_NEW 로 커넥션을 하나 더 잡으면
+  // 동시 주문이 많을 때 커넥션 풀이 바닥나 서로를 기다릴 수 있음). DTO 프로젝션이라 영속성 컨텍스트 캐시도 타지 않는다.
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onProductChanged(ProductChangedEvent event) {
+    synchronized (writeLock) {
+      // 아직 적재 전이면 최초 적재 때 최신 상태를 읽으므로 무시
+      if (!loaded) return;
+
+      List<Long> pnos = event.getPnos();
+      pnos.forEach(this::removeInternal);
+
+      productRepository.selectCatalogOf(pnos).forEach(this::put);
+
+      log.debug("catalog snapshot refreshed - pnos: {}, size: {}", pnos, products.size());
+    }
+  }
+
+  private void ensureLoaded() {
+    if (loaded) return;
+
+    synchronized (writeLock) {
+      if (loaded) return;
+
+      productRepository.selectCatalog().forEach(this::put);
+      loaded = true;
+
+      log.info("catalog snapshot loaded - size: {}", products.size());
+    }
+  }
+
+  private void put(ProductDTO productDTO) {
+    if (productDTO.isDelFlag()) return;
+    // 기부 관련 상품은 판매 목록에 노출하지 않음
+    if (DonationProductResolver.isDonationLabel(productDTO.getPname(), productDTO.getBrand())) return;
+
+    products.put(productDTO.getPno(), productDTO);
+    searchIndex.put(productDTO.getPno(), productDTO.getPname(), productDTO.getBrand(), productDTO.getPdesc());
+    randomBoxPool.put(productDTO.getPno(), productDTO.getPrice());
+  }
+
+  // 목록 프로젝션이 채우는 값만 복사 (uploadFileNames 는 프로젝션에서 만든 불변 리스트라 같이 써도 됨)
+  private static ProductDTO copyOf(ProductDTO source) {
+    if (source == null) return null;
+
+    return ProductDTO.builder()
+        .pno(source.getPno())
+        .brand(source.getBrand())
+        .pname(source.getPname())
+        .price(source.getPrice())
+        .discountRate(source.getDiscountRate())
+        .salePrice(source.getSalePrice())
+        .pdesc(source.getPdesc())
+        .delFlag(source.isDelFlag())
+        .uploadFileNames(source.getUploadFileNames())
+        .imageUrl(source.getImageUrl())
+        .imageCount(source.getImageCount())
+        .build();
+  }
+
+  private void removeInternal(Long pno) {
+    products.remove(pno);
+    searchIndex.remove(pno);
+    randomBoxPool.remove(pno);
+  }
+}
@@ -0,0 +1,25 @@
+package com.gifree.service;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 상품의 등록/수정/삭제/판매완료(delFlag) 변경을 알리는 이벤트.
+ * 커밋 이후 상품 목록 스냅샷 등 메모리 캐시를 갱신하는 데 사용한다.
+ */
+@Getter
+@ToString
+public class ProductChangedEvent {
+
+  private final List<Long> pnos;
+
+  public ProductChangedEvent(List<Long> pnos) {
+    this.pnos = List.copyOf(pnos);
+  }
+
+  public static ProductChangedEvent of(Long pno) {
+    return new ProductChangedEvent(List.of(pno));
+  }
+}
@@ -0,0 +1,173 @@
+package com.gifree.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 상품명/브랜드/설명에 대한 메모리 역색인.
+ * 한글은 형태소 분석 없이도 부분 검색이 되도록 글자 단위 2-gram(bigram)으로 색인하고,
+ * 후보 문서는 실제 부분 문자열 포함 여부를 다시 확인하므로 기존 LIKE '%kw%' 검색과 같은 결과를 돌려준다.
+ *
+ * 정렬은 일치한 필드의 가중치 합(상품명 3, 브랜드 2, 설명 1) 내림차순, 같으면 pno 내림차순이다.
+ */
+@Component
+public class ProductSearchIndex {
+
+  private static final int PNAME_WEIGHT = 3;
+  private static final int BRAND_WEIGHT = 2;
+  private static final int PDESC_WEIGHT = 1;
+
+  private static final long PNO_MASK = (1L << 48) - 1;
+
+  private final Map<String, Set<Long>> postings = new HashMap<>();
+
+  private final Map<Long, Document> documents = new HashMap<>();
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  public void put(Long pno, String pname, String brand, String pdesc) {
+    Document document = new Document(normalize(pname), normalize(brand), normalize(pdesc));
+
+    lock.writeLock().lock();
+    try {
+      removeInternal(pno);
+      documents.put(pno, document);
+      for (String gram : document.grams()) {
+        postings.computeIfAbsent(gram, key -> new HashSet<>()).add(pno);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void remove(Long pno) {
+    lock.writeLock().lock();
+    try {
+      removeInternal(pno);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return documents.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** 검색어가 포함된 상품 번호를 정렬된 순서로 반환 */
+  public List<Long> search(String keyword) {
+    String query = normalize(keyword).trim();
+    if (query.isEmpty()) return List.of();
+
+    lock.readLock().lock();
+    try {
+      // 점수(상위 16비트)와 pno(하위 48비트)를 long 하나로 묶어 정렬하면 점수, pno 순으로 한 번에 정렬된다
+      long[] keys = new long[16];
+      int count = 0;
+
+      for (Long pno : candidates(query)) {
+        int score = documents.get(pno).score(query);
+        if (score == 0) continue;
+
+        if (count == keys.length) keys = Arrays.copyOf(keys, count * 2);
+        keys[count++] = ((long) score << 48) | pno;
+      }
+
+      Arrays.sort(keys, 0, count);
+
+      List<Long> result = new ArrayList<>(count);
+      for (int i = count - 1; i >= 0; i--) {
+        result.add(keys[i] & PNO_MASK);
+      }
+      return result;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private Iterable<Long> candidates(String query) {
+    Set<String> queryGrams = bigrams(query);
+
+    // 한 글자 검색어는 bigram이 없으므로 전체 문서를 확인
+    if (queryGrams.isEmpty()) return documents.keySet();
+
+    List<Set<Long>> lists = new ArrayList<>();
+    for (String gram : queryGrams) {
+      Set<Long> list = postings.get(gram);
+      if (list == null) return List.of();
+      lists.add(list);
+    }
+    lists.sort(Comparator.comparingInt(Set::size));
+
+    List<Long> result = new ArrayList<>();
+    for (Long pno : lists.get(0)) {
+      boolean all = true;
+      for (int i = 1; i < lists.size() && all; i++) {
+        all = lists.get(i).contains(pno);
+      }
+      if (all) result.add(pno);
+    }
+    return result;
+  }
+
+  private void removeInternal(Long pno) {
+    Document old = documents.remove(pno);
+    if (old == null) return;
+
+    for (String gram : old.grams()) {
+      Set<Long> list = postings.get(gram);
+      if (list == null) continue;
+      list.remove(pno);
+      if (list.isEmpty()) postings.remove(gram);
+    }
+  }
+
+  // 조합형으로 입력된 한글도 같은 글자로 취급하도록 NFC 정규화 후 소문자로 변환
+  static String normalize(String text) {
+    if (text == null) return "";
+    return Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+  }
+
+  static Set<String> bigrams(String text) {
+    Set<String> grams = new LinkedHashSet<>();
+    for (int i = 0; i + 1 < text.length(); i++) {
+      grams.add(text.substring(i, i + 2));
+    }
+    return grams;
+  }
+
+  private record Document(String pname, String brand, String pdesc) {
+
+    Set<String> grams() {
+      Set<String> grams = bigrams(pname);
+      grams.addAll(bigrams(brand));
+      grams.addAll(bigrams(pdesc));
+      return grams;
+    }
+
+    int score(String query) {
+      int score = 0;
+      if (pname.contains(query)) score += PNAME_WEIGHT;
+      if (brand.contains(query)) score += BRAND_WEIGHT;
+      if (pdesc.contains(query)) score += PDESC_WEIGHT;
+      return score;
+    }
+  }
+}
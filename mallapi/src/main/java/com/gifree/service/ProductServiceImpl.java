@@ -1,9 +1,13 @@
 package com.gifree.service;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -18,6 +22,7 @@ import com.gifree.dto.PageResponseDTO;
 import com.gifree.dto.ProductDTO;
 import com.gifree.repository.ProductRepository;
 import com.gifree.dto.StoreDTO;
+import com.gifree.util.PageCursor;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
@@ -29,85 +34,106 @@ import lombok.extern.log4j.Log4j2;
 public class ProductServiceImpl implements ProductService {
 
     private final ProductRepository productRepository;
+    private final ProductCatalogSnapshot catalogSnapshot;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StoredFileService storedFileService;
+
+    // 여러 서버로 띄울 때처럼 메모리 스냅샷을 쓸 수 없으면 false로 두고 DB 프로젝션 쿼리로 조회
+    @Value("${com.gifree.catalog.snapshot-enabled:true}")
+    private boolean snapshotEnabled;
 
     @Override
     public PageResponseDTO<ProductDTO> getList(PageRequestDTO pageRequestDTO) {
 
         log.info("getList..............");
 
+        // 커서 페이징은 pno 정렬 목록에만 적용 (검색 결과는 점수순이라 기존 페이지 방식 유지)
+        if (pageRequestDTO.getAfter() != null && isBlank(pageRequestDTO.getKeyword())) {
+            return getCursorList(pageRequestDTO);
+        }
+
+        if (!snapshotEnabled) {
+            return getListFromDB(pageRequestDTO);
+        }
+
+        // 검색어가 없으면 메모리 스냅샷에서 바로 페이지를 잘라 반환 (pno 내림차순)
+        if (isBlank(pageRequestDTO.getKeyword())) {
+            return PageResponseDTO.<ProductDTO>withAll()
+                    .dtoList(catalogSnapshot.getPage(pageRequestDTO.getPage(), pageRequestDTO.getSize()))
+                    .totalCount(catalogSnapshot.size())
+                    .pageRequestDTO(pageRequestDTO)
+                    .build();
+        }
+
+        // 검색어가 있으면 메모리 역색인에서 순위가 매겨진 pno 목록을 받아 해당 페이지만 DTO로 변환
+        log.info("검색 키워드: {}", pageRequestDTO.getKeyword());
+        List<Long> pnos = catalogSnapshot.search(pageRequestDTO.getKeyword());
+
+        List<ProductDTO> dtoList = pnos.stream()
+                .skip((long) (pageRequestDTO.getPage() - 1) * pageRequestDTO.getSize())
+                .limit(pageRequestDTO.getSize())
+                .map(catalogSnapshot::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        return PageResponseDTO.<ProductDTO>withAll()
+                .dtoList(dtoList)
+                .totalCount(pnos.size())
+                .pageRequestDTO(pageRequestDTO)
+                .build();
+    }
+
+    // 상품 + 첫 번째 이미지 + 이미지 개수를 한 번의 쿼리로 조회 (목록 1회 + count 1회)
+    private PageResponseDTO<ProductDTO> getListFromDB(PageRequestDTO pageRequestDTO) {
+
         Pageable pageable = PageRequest.of(
                 pageRequestDTO.getPage() - 1, // 페이지 시작 번호는 0부터
                 pageRequestDTO.getSize(),
                 Sort.by("pno").descending());
 
-        // 검색 키워드가 있으면 검색 쿼리 사용, 없으면 전체 목록
-        Page<Product> result;
-        if (pageRequestDTO.getKeyword() != null && !pageRequestDTO.getKeyword().trim().isEmpty()) {
-            log.info("검색 키워드: {}", pageRequestDTO.getKeyword());
-            result = productRepository.findByKeyword(pageRequestDTO.getKeyword(), pageable);
-        } else {
-            log.info("전체 상품 목록 조회");
-            result = productRepository.selectAllProducts(pageable);
-        }
+        String keyword = pageRequestDTO.getKeyword();
 
-        List<ProductDTO> dtoList = result.get()
-            .filter(product -> !"기부".equals(product.getBrand()) && !"기부".equals(product.getPname())) // 기부 관련 상품 필터링
-            .map(product -> {
-                log.info("상품 처리 시작: pno={}, brand={}, pname={}", product.getPno(), product.getBrand(), product.getPname());
-            
-            // 각 상품의 첫 번째 이미지 찾기
-            String firstImageFileName = null;
-            if (product.getImageList() != null && !product.getImageList().isEmpty()) {
-                log.info("이미지 리스트 크기: {}", product.getImageList().size());
-                // ord = 0인 이미지를 우선 찾고, 없으면 첫 번째 이미지 사용
-                ProductImage firstImage = product.getImageList().stream()
-                    .filter(img -> img.getOrd() == 0)
-                    .findFirst()
-                    .orElse(product.getImageList().get(0));
-                firstImageFileName = firstImage.getFileName();
-                log.info("첫 번째 이미지 파일명: {}", firstImageFileName);
-            } else {
-                log.info("이미지 리스트가 비어있음: pno={}", product.getPno());
-            }
+        Page<ProductDTO> result = isBlank(keyword)
+                ? productRepository.selectDTOList(pageable)
+                : productRepository.searchDTOList(keyword, pageable);
 
-            // 이미지 URL 생성
-            String imageUrl = null;
-            if (firstImageFileName != null) {
-                imageUrl = "http://localhost:8080/api/products/view/" + firstImageFileName;
-                log.info("이미지 URL 생성: {}", imageUrl);
-            } else {
-                log.info("이미지 파일명이 없음: pno={}", product.getPno());
-            }
+        return PageResponseDTO.<ProductDTO>withAll()
+                .dtoList(result.getContent())
+                .totalCount(result.getTotalElements())
+                .pageRequestDTO(pageRequestDTO)
+                .build();
+    }
 
-            ProductDTO productDTO = ProductDTO.builder()
-                    .pno(product.getPno())
-                    .brand(product.getBrand())
-                    .pname(product.getPname())
-                    .pdesc(product.getPdesc())
-                    .price(product.getPrice())
-                    .discountRate(product.getDiscountRate())
-                    .salePrice(product.getSalePrice())
-                    .delFlag(product.isDelFlag())
-                    .uploadFileNames(firstImageFileName != null ? List.of(firstImageFileName) : List.of())
-                    .imageUrl(imageUrl)
-                    .build();
+    // pno < after 인 상품을 size + 1 개 읽어 다음 페이지 존재 여부를 판단 (count 쿼리 없음)
+    private PageResponseDTO<ProductDTO> getCursorList(PageRequestDTO pageRequestDTO) {
 
-            return productDTO;
-        }).collect(Collectors.toList());
+        long after = PageCursor.decode(pageRequestDTO.getAfter());
+        int size = Math.max(pageRequestDTO.getSize(), 1);
 
-        long totalCount = result.getTotalElements();
+        List<ProductDTO> rows = snapshotEnabled
+                ? catalogSnapshot.getPageAfter(after, size + 1)
+                : productRepository.selectDTOListAfter(after, Limit.of(size + 1));
 
-        return PageResponseDTO.<ProductDTO>withAll()
+        boolean hasNext = rows.size() > size;
+        List<ProductDTO> dtoList = hasNext ? rows.subList(0, size) : rows;
+
+        return PageResponseDTO.<ProductDTO>withCursor()
                 .dtoList(dtoList)
-                .totalCount(totalCount)
                 .pageRequestDTO(pageRequestDTO)
+                .nextCursor(hasNext ? PageCursor.encode(dtoList.get(size - 1).getPno()) : null)
                 .build();
     }
 
+    private boolean isBlank(String keyword) {
+        return keyword == null || keyword.trim().isEmpty();
+    }
+
     @Override
     public Long register(ProductDTO productDTO) {
         Product product = dtoToEntity(productDTO);
         Product result = productRepository.save(product);
+        storedFileService.retain(imageFileNames(result));
+        eventPublisher.publishEvent(ProductChangedEvent.of(result.getPno()));
         return result.getPno();
     }
 
@@ -184,6 +210,7 @@ public class ProductServiceImpl implements ProductService {
         product.changeDesc(productDTO.getPdesc());
         product.changePrice(productDTO.getPrice());
 
+        List<String> oldFileNames = imageFileNames(product);
         product.clearList();
 
         List<String> uploadFileNames = productDTO.getUploadFileNames();
@@ -192,11 +219,19 @@ public class ProductServiceImpl implements ProductService {
         }
 
         productRepository.save(product);
+        storedFileService.replace(oldFileNames, imageFileNames(product));
+        eventPublisher.publishEvent(ProductChangedEvent.of(product.getPno()));
     }
 
     @Override
     public void remove(Long pno) {
+        productRepository.findById(pno).ifPresent(product -> storedFileService.release(imageFileNames(product)));
         productRepository.deleteById(pno);
+        eventPublisher.publishEvent(ProductChangedEvent.of(pno));
+    }
+
+    private static List<String> imageFileNames(Product product) {
+        return product.getImageList().stream().map(ProductImage::getFileName).toList();
     }
 
     // 위치 기반 상품 검색
@@ -221,7 +256,7 @@ public class ProductServiceImpl implements ProductService {
         List<ProductDTO> dtoList = result.get()
             .filter(arr -> {
                 Product product = (Product) arr[0];
-                return !"기부".equals(product.getBrand()) && !"기부".equals(product.getPname()); // 기부 관련 상품 필터링
+                return !DonationProductResolver.isDonationLabel(product.getPname(), product.getBrand()); // 기부 관련 상품 필터링
             })
             .map(arr -> {
                 Product product = (Product) arr[0];
@@ -296,7 +331,7 @@ public class ProductServiceImpl implements ProductService {
         
         List<Product> products = productRepository.findByBrandOrderByPriceAsc(brand)
             .stream()
-            .filter(product -> !"기부".equals(product.getBrand()) && !"기부".equals(product.getPname())) // 기부 관련 상품 필터링
+            .filter(product -> !DonationProductResolver.isDonationLabel(product.getPname(), product.getBrand())) // 기부 관련 상품 필터링
             .collect(Collectors.toList());
         
         if (products.size() < rank) {
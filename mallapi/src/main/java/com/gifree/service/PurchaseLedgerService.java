@@ -0,0 +1,16 @@
+package com.gifree.service;
+
+public interface PurchaseLedgerService {
+
+    // 주문 금액을 누적 (주문과 같은 트랜잭션에서 호출)
+    void record(String memberEmail, long amount);
+
+    // 누적 구매 금액 조회 (원장이 없으면 만들지 않고 주문 내역 합계)
+    long getTotal(String memberEmail);
+
+    // 원장과 주문 테이블 합계를 비교해 다른 값을 교정하고 교정한 회원 수를 반환
+    int reconcile();
+
+    // 한 회원의 원장만 주문 테이블 합계와 비교해 교정 (교정했으면 1)
+    int reconcile(String memberEmail);
+}
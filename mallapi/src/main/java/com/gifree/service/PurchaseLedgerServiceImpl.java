@@ -0,0 +1,100 @@
+package com.gifree.service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gifree.domain.PurchaseLedger;
+import com.gifree.repository.OrderItemRepository;
+import com.gifree.repository.PurchaseLedgerRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+@Service
+@RequiredArgsConstructor
+@Log4j2
+@Transactional
+public class PurchaseLedgerServiceImpl implements PurchaseLedgerService {
+
+    // 기부 상품이 없을 때 비교에 쓰는 값 (존재하지 않는 pno)
+    private static final long NO_PRODUCT = -1L;
+
+    private final PurchaseLedgerRepository purchaseLedgerRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final DonationProductResolver donationProductResolver;
+
+    @Override
+    public void record(String memberEmail, long amount) {
+        if (purchaseLedgerRepository.addAmount(memberEmail, amount, LocalDateTime.now()) > 0) return;
+
+        // 원장이 없으면 이번 주문까지 포함한 주문 내역 합계로 생성.
+        // 다른 첫 주문이 먼저 만들었으면(그 합계에는 이번 주문이 없음) 이번 주문 금액만 더함
+        if (backfill(memberEmail) == 0) {
+            purchaseLedgerRepository.addAmount(memberEmail, amount, LocalDateTime.now());
+        }
+    }
+
+    // 원장이 없으면 만들지 않고 주문 내역 합계를 반환 (조회에서는 쓰지 않음)
+    @Override
+    @Transactional(readOnly = true)
+    public long getTotal(String memberEmail) {
+        return purchaseLedgerRepository.findById(memberEmail)
+                .map(PurchaseLedger::getTotalAmount)
+                .orElseGet(() -> orderItemRepository.sumAmountByEmail(memberEmail, donationPno()));
+    }
+
+    @Override
+    @Scheduled(cron = "${com.gifree.ledger.reconcile-cron:0 30 4 * * *}")
+    public int reconcile() {
+        Map<String, Long> expected = new HashMap<>();
+        for (Object[] row : orderItemRepository.sumAmountGroupByEmail(donationPno())) {
+            expected.put((String) row[0], ((Number) row[1]).longValue());
+        }
+
+        int fixed = 0;
+        for (PurchaseLedger ledger : purchaseLedgerRepository.findAll()) {
+            fixed += correct(ledger, expected.getOrDefault(ledger.getMemberEmail(), 0L));
+        }
+
+        log.info("구매 원장 대사 완료 - 회원 수: {}, 교정: {}", expected.size(), fixed);
+        return fixed;
+    }
+
+    @Override
+    public int reconcile(String memberEmail) {
+        return purchaseLedgerRepository.findById(memberEmail)
+                .map(ledger -> correct(ledger, orderItemRepository.sumAmountByEmail(memberEmail, donationPno())))
+                .orElse(0);
+    }
+
+    // 원장이 주문 합계와 다르면 교정하고 1, 같으면 0
+    private int correct(PurchaseLedger ledger, long amount) {
+        if (ledger.getTotalAmount() == amount) return 0;
+
+        log.warn("구매 원장 불일치 - 사용자: {}, 원장: {}, 주문 합계: {}",
+                ledger.getMemberEmail(), ledger.getTotalAmount(), amount);
+        return purchaseLedgerRepository.correctAmount(
+                ledger.getMemberEmail(), ledger.getTotalAmount(), amount, LocalDateTime.now());
+    }
+
+    // 생성했으면 1, 이미 있었으면 0
+    private int backfill(String memberEmail) {
+        long amount = orderItemRepository.sumAmountByEmail(memberEmail, donationPno());
+
+        int inserted = purchaseLedgerRepository.insertIfAbsent(memberEmail, amount, LocalDateTime.now());
+        if (inserted > 0) {
+            log.info("구매 원장 생성 - 사용자: {}, 누적 구매금액: {}", memberEmail, amount);
+        }
+        return inserted;
+    }
+
+    private long donationPno() {
+        Long pno = donationProductResolver.getPno();
+        return pno != null ? pno : NO_PRODUCT;
+    }
+}
@@ -0,0 +1,65 @@
+package com.gifree.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 랜덤박스 뽑기 대상(판매중 & 가격 10,000원 이하) 상품 번호 집합.
+ * 배열 + 위치 맵으로 관리하여 추가/삭제/무작위 선택이 모두 상품 수와 무관하게 O(1)이다.
+ *
+ * ProductCatalogSnapshot 이 상품을 적재/갱신할 때 함께 갱신한다.
+ */
+@Component
+public class RandomBoxCandidatePool {
+
+  public static final int MAX_PRICE = 10000;
+
+  private long[] pnos = new long[64];
+
+  private int size;
+
+  private final Map<Long, Integer> positions = new HashMap<>();
+
+  public synchronized void put(Long pno, int price) {
+    if (price > MAX_PRICE) {
+      remove(pno);
+      return;
+    }
+    if (positions.containsKey(pno)) return;
+
+    if (size == pnos.length) {
+      long[] grown = new long[size * 2];
+      System.arraycopy(pnos, 0, grown, 0, size);
+      pnos = grown;
+    }
+    pnos[size] = pno;
+    positions.put(pno, size);
+    size++;
+  }
+
+  public synchronized void remove(Long pno) {
+    Integer position = positions.remove(pno);
+    if (position == null) return;
+
+    // 마지막 원소를 빈 자리로 옮겨 배열을 연속으로 유지
+    size--;
+    if (position != size) {
+      long last = pnos[size];
+      pnos[position] = last;
+      positions.put(last, position);
+    }
+  }
+
+  /** 무작위 후보 하나 (없으면 null) */
+  public synchronized Long pick() {
+    if (size == 0) return null;
+    return pnos[ThreadLocalRandom.current().nextInt(size)];
+  }
+
+  public synchronized int size() {
+    return size;
+  }
+}
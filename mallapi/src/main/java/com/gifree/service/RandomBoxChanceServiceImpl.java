@@ -1,21 +1,24 @@
 package com.gifree.service;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.gifree.domain.RandomBoxChance;
 import com.gifree.repository.RandomBoxChanceRepository;
 import com.gifree.domain.Product;
+import com.gifree.domain.ProductImage;
+import com.gifree.dto.ProductDTO;
 import com.gifree.repository.ProductRepository;
-import com.gifree.service.CollectionService;
 import com.gifree.domain.Collection;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 @RequiredArgsConstructor
@@ -26,9 +29,15 @@ public class RandomBoxChanceServiceImpl implements RandomBoxChanceService {
     private final RandomBoxChanceRepository randomBoxChanceRepository;
     private final ProductRepository productRepository;
     private final CollectionService collectionService;
-    
-    @Autowired
-    private ApplicationContext applicationContext;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PurchaseLedgerService purchaseLedgerService;
+    private final ProductCatalogSnapshot catalogSnapshot;
+
+    // 동시에 뽑은 상품이 이미 판매된 경우 다시 뽑는 최대 횟수
+    private static final int MAX_DRAW_ATTEMPTS = 5;
+
+    @Value("${com.gifree.catalog.snapshot-enabled:true}")
+    private boolean snapshotEnabled;
     
     @Override
     public RandomBoxChance getChances(String memberEmail) {
@@ -48,9 +57,8 @@ public class RandomBoxChanceServiceImpl implements RandomBoxChanceService {
         log.info("addChancesFromPurchase 호출됨 - 사용자: {}, 구매금액: {}", memberEmail, purchaseAmount);
 
         // 1. 누적 구매금액 조회
-        OrderService orderService = applicationContext.getBean(OrderService.class);
-        int totalPurchaseAmount = orderService.getTotalPurchaseAmount(memberEmail);
-        int shouldBeGranted = totalPurchaseAmount / 10000; // 누적 기준 지급되어야 할 총 기회 수
+        long totalPurchaseAmount = purchaseLedgerService.getTotal(memberEmail);
+        int shouldBeGranted = (int) (totalPurchaseAmount / 10000); // 누적 기준 지급되어야 할 총 기회 수
 
         // 2. 현재까지 지급된 누적 기회 수 조회
         RandomBoxChance chance = getChances(memberEmail);
@@ -92,18 +100,17 @@ public class RandomBoxChanceServiceImpl implements RandomBoxChanceService {
     
     @Override
     public int getAmountToNextChance(String memberEmail) {
-        // 사용자의 총 구매 금액 조회
-        OrderService orderService = applicationContext.getBean(OrderService.class);
-        int totalPurchaseAmount = orderService.getTotalPurchaseAmount(memberEmail);
+        // 사용자의 총 구매 금액 조회 (구매 원장)
+        long totalPurchaseAmount = purchaseLedgerService.getTotal(memberEmail);
         
         // 현재까지 획득한 기회 수 계산
-        int earnedChances = totalPurchaseAmount / 10000;
+        long earnedChances = totalPurchaseAmount / 10000;
         
         // 다음 기회까지 필요한 총 구매 금액
-        int requiredAmount = (earnedChances + 1) * 10000;
+        long requiredAmount = (earnedChances + 1) * 10000;
         
         // 다음 기회까지 남은 금액
-        int remainingAmount = requiredAmount - totalPurchaseAmount;
+        int remainingAmount = (int) (requiredAmount - totalPurchaseAmount);
         
         log.info("다음 기회까지 남은 금액 계산 - 사용자: {}, 총 구매금액: {}, 획득 기회: {}, 다음 기회까지: {}원", 
                 memberEmail, totalPurchaseAmount, earnedChances, remainingAmount);
@@ -119,19 +126,26 @@ public class RandomBoxChanceServiceImpl implements RandomBoxChanceService {
             throw new RuntimeException("랜덤박스 기회가 부족합니다.");
         }
 
-        // 2. 10,000원 이하 & 판매중(delFlag=false) 상품 전체 조회
-        List<Product> candidates = productRepository.findAll().stream()
-                .filter(p -> !p.isDelFlag() && p.getPrice() <= 10000)
-                .toList();
-        if (candidates.isEmpty()) {
+        // 2. 10,000원 이하 & 판매중 상품 중 무작위로 하나 선정하고 판매 완료로 예약
+        //    (다른 뽑기/주문이 먼저 가져간 상품이면 예약이 0건이므로 다시 뽑음)
+        ProductDTO selected = null;
+        for (int attempt = 0; attempt < MAX_DRAW_ATTEMPTS && selected == null; attempt++) {
+            ProductDTO candidate = snapshotEnabled ? catalogSnapshot.pickRandomBoxCandidate() : pickFromDB();
+            if (candidate == null) break;
+
+            if (productRepository.reserveAll(List.of(candidate.getPno())) == 1) {
+                selected = candidate;
+            } else if (snapshotEnabled) {
+                catalogSnapshot.evict(candidate.getPno());
+            }
+        }
+        if (selected == null) {
             throw new RuntimeException("랜덤박스 뽑기 대상 상품이 없습니다.");
         }
 
-        // 3. 랜덤으로 하나 선정
-        Product selected = candidates.get((int) (Math.random() * candidates.size()));
-
-        // 4. 보관함에 추가
-        String imageFileName = selected.getImageList().isEmpty() ? null : selected.getImageList().get(0).getFileName();
+        // 3. 보관함에 추가
+        String imageFileName = selected.getUploadFileNames() == null || selected.getUploadFileNames().isEmpty()
+                ? null : selected.getUploadFileNames().get(0);
         Collection collection = collectionService.addToCollection(
                 memberEmail,
                 selected.getPno(),
@@ -143,9 +157,32 @@ public class RandomBoxChanceServiceImpl implements RandomBoxChanceService {
                 "randombox"
         );
 
-        // 5. 판매리스트에서 숨김(delFlag = true)
-        productRepository.updateToDelete(selected.getPno(), true);
+        // 4. 판매리스트에서 숨김(delFlag = true) 은 예약 시 처리됨
+        eventPublisher.publishEvent(ProductChangedEvent.of(selected.getPno()));
 
         return collection;
     }
-} 
\ No newline at end of file
+
+    // 스냅샷을 쓰지 않을 때: (delFlag, price) 인덱스로 후보 수를 세고 무작위 위치의 한 건만 조회
+    private ProductDTO pickFromDB() {
+        long count = productRepository.countRandomBoxCandidates(RandomBoxCandidatePool.MAX_PRICE);
+        if (count == 0) return null;
+
+        int offset = ThreadLocalRandom.current().nextInt((int) Math.min(count, Integer.MAX_VALUE));
+        List<Long> pnos = productRepository.selectRandomBoxCandidate(
+                RandomBoxCandidatePool.MAX_PRICE, PageRequest.of(offset, 1));
+        if (pnos.isEmpty()) return null;
+
+        Product product = productRepository.selectOne(pnos.get(0)).orElse(null);
+        if (product == null) return null;
+
+        return ProductDTO.builder()
+                .pno(product.getPno())
+                .pname(product.getPname())
+                .price(product.getPrice())
+                .pdesc(product.getPdesc())
+                .brand(product.getBrand())
+                .uploadFileNames(product.getImageList().stream().map(ProductImage::getFileName).toList())
+                .build();
+    }
+}
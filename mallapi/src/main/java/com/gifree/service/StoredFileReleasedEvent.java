@@ -0,0 +1,21 @@
+package com.gifree.service;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 참조 수가 0이 된 업로드 파일을 알리는 이벤트.
+ * 커밋 이후 CustomFileUtil 이 파일(과 썸네일)을 삭제한다.
+ */
+@Getter
+@ToString
+public class StoredFileReleasedEvent {
+
+  private final List<String> fileNames;
+
+  public StoredFileReleasedEvent(List<String> fileNames) {
+    this.fileNames = List.copyOf(fileNames);
+  }
+}
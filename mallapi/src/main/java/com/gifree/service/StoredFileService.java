@@ -0,0 +1,23 @@
+package com.gifree.service;
+
+import java.util.Collection;
+
+public interface StoredFileService {
+
+    // 내용 해시로 저장한 파일을 등록 (이미 있으면 업로드 시각만 갱신)
+    void register(String fileName, String sha256, long size);
+
+    // 엔티티가 파일을 참조하기 시작함 (null, 외부 URL 등 관리하지 않는 이름은 무시)
+    void retain(Collection<String> fileNames);
+
+    // 엔티티가 파일 참조를 그만둠 - 참조 수가 0이 되면 커밋 이후 파일 삭제
+    void release(Collection<String> fileNames);
+
+    // 수정 전후 파일명 목록의 차이만큼 참조 수 변경
+    void replace(Collection<String> before, Collection<String> after);
+
+    boolean isTracked(String fileName);
+
+    // 참조가 없고 업로드 유예 시간이 지났으면 등록을 지우고 true (이후 파일을 지워도 됨)
+    boolean deleteIfUnreferenced(String fileName);
+}
@@ -0,0 +1,120 @@
+package com.gifree.service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gifree.domain.StoredFile;
+import com.gifree.repository.StoredFileRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+@Service
+@RequiredArgsConstructor
+@Log4j2
+@Transactional
+public class StoredFileServiceImpl implements StoredFileService {
+
+    private final StoredFileRepository storedFileRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 업로드 후 엔티티에 붙기 전까지 참조 수가 0인 파일을 지우지 않고 기다리는 시간
+    @Value("${com.gifree.upload.unreferenced-grace-minutes:60}")
+    private long graceMinutes;
+
+    @Override
+    public void register(String fileName, String sha256, long size) {
+        storedFileRepository.findById(fileName).ifPresentOrElse(
+                StoredFile::touch,
+                () -> storedFileRepository.save(StoredFile.builder()
+                        .fileName(fileName)
+                        .sha256(sha256)
+                        .size(size)
+                        .uploadedAt(LocalDateTime.now())
+                        .build()));
+    }
+
+    @Override
+    public void retain(Collection<String> fileNames) {
+        byCount(countByName(fileNames)).forEach((delta, names) -> storedFileRepository.retain(names, delta));
+    }
+
+    @Override
+    public void release(Collection<String> fileNames) {
+        Map<String, Integer> counts = countByName(fileNames);
+        if (counts.isEmpty()) return;
+
+        byCount(counts).forEach((delta, names) -> storedFileRepository.release(names, delta));
+
+        List<String> unreferenced = storedFileRepository.selectUnreferenced(counts.keySet());
+        if (!unreferenced.isEmpty()) {
+            eventPublisher.publishEvent(new StoredFileReleasedEvent(unreferenced));
+        }
+    }
+
+    @Override
+    public void replace(Collection<String> before, Collection<String> after) {
+        Map<String, Integer> delta = countByName(after);
+        countByName(before).forEach((name, count) -> delta.merge(name, -count, Integer::sum));
+
+        List<String> added = expand(delta, 1);
+        List<String> removed = expand(delta, -1);
+
+        if (!added.isEmpty()) retain(added);
+        if (!removed.isEmpty()) release(removed);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isTracked(String fileName) {
+        return fileName != null && storedFileRepository.existsById(fileName);
+    }
+
+    // 커밋 이후(AFTER_COMMIT) 리스너에서도 호출되므로 항상 새 트랜잭션으로 실행
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean deleteIfUnreferenced(String fileName) {
+        LocalDateTime uploadedBefore = LocalDateTime.now().minusMinutes(graceMinutes);
+        return storedFileRepository.deleteIfUnreferenced(fileName, uploadedBefore) == 1;
+    }
+
+    // 파일명별 개수 (같은 파일을 한 엔티티가 여러 번 참조할 수 있음)
+    private static Map<String, Integer> countByName(Collection<String> fileNames) {
+        Map<String, Integer> counts = new HashMap<>();
+        if (fileNames == null) return counts;
+
+        fileNames.stream()
+                .filter(Objects::nonNull)
+                .filter(name -> !name.isBlank())
+                .forEach(name -> counts.merge(name, 1, Integer::sum));
+        return counts;
+    }
+
+    // 개수가 같은 파일명끼리 묶어 한 번의 UPDATE 로 처리 (보통 모두 1개)
+    private static Map<Integer, Set<String>> byCount(Map<String, Integer> counts) {
+        return counts.entrySet().stream()
+                .collect(Collectors.groupingBy(Map.Entry::getValue,
+                        Collectors.mapping(Map.Entry::getKey, Collectors.toSet())));
+    }
+
+    // 부호가 sign 인 차이만큼 파일명을 반복한 목록
+    private static List<String> expand(Map<String, Integer> delta, int sign) {
+        return delta.entrySet().stream()
+                .filter(entry -> Integer.signum(entry.getValue()) == sign)
+                .flatMap(entry -> Collections.nCopies(Math.abs(entry.getValue()), entry.getKey()).stream())
+                .toList();
+    }
+}
@@ -0,0 +1,198 @@
+package com.gifree.service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.gifree.util.CustomFileUtil;
+import com.gifree.util.ThumbnailGenerator;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * 업로드 폴더에서 아무 데이터도 참조하지 않는 파일을 주기적으로 정리한다.
+ *
+ * 상품 수정처럼 파일을 먼저 저장하고 엔티티 저장이 실패한 경우, 이벤트/파일 업로드 API 로 올리고 쓰지 않은 경우,
+ * 업로드 도중 끊겨 남은 임시 파일(tmp_), 원본이 없어진 썸네일이 대상이다.
+ * 폴더를 한 번에 읽지 않고 batchSize 개씩 모아 참조 여부를 조회하고, 배치 사이에 쉬어 DB 와 디스크 부하를 나눈다.
+ * 수정 시각이 유예 시간보다 최근인 파일은 업로드 직후 엔티티 저장을 기다리는 중일 수 있으므로 건드리지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+@Log4j2
+public class UploadGarbageCollector {
+
+  /** 정리 결과 - 검사한 파일 수, 삭제한 파일 수(썸네일 포함 원본 기준), 회수한 바이트 */
+  public record Report(int scanned, int deleted, long reclaimedBytes) {}
+
+  private static final String TEMP_PREFIX = "tmp_";
+
+  private final UploadReferences uploadReferences;
+
+  private final CustomFileUtil fileUtil;
+
+  private final AtomicBoolean running = new AtomicBoolean();
+
+  @Value("${com.gifree.upload.path}")
+  private String uploadPath;
+
+  @Value("${com.gifree.upload.unreferenced-grace-minutes:60}")
+  private long graceMinutes;
+
+  @Value("${com.gifree.upload.gc.enabled:true}")
+  private boolean enabled;
+
+  @Value("${com.gifree.upload.gc.batch-size:200}")
+  private int batchSize;
+
+  @Value("${com.gifree.upload.gc.batch-pause-ms:100}")
+  private long batchPauseMs;
+
+  @Value("${com.gifree.upload.gc.max-deletes:1000}")
+  private int maxDeletes;
+
+  @Scheduled(initialDelayString = "${com.gifree.upload.gc.initial-delay-ms:600000}",
+             fixedDelayString = "${com.gifree.upload.gc.delay-ms:21600000}")
+  public void scheduledCollect() {
+    if (!enabled) return;
+
+    try {
+      collect();
+    } catch (RuntimeException e) {
+      log.error("업로드 파일 정리 실패: {}", e.getMessage());
+    }
+  }
+
+  /** 한 번 정리 (이미 실행 중이면 아무것도 하지 않고 빈 결과) */
+  public Report collect() {
+    if (!running.compareAndSet(false, true)) {
+      log.info("업로드 파일 정리가 이미 실행 중");
+      return new Report(0, 0, 0);
+    }
+
+    try {
+      return walk(Instant.now().minus(Duration.ofMinutes(graceMinutes)));
+    } finally {
+      running.set(false);
+    }
+  }
+
+  private Report walk(Instant cutoff) {
+    Path folder = Paths.get(uploadPath);
+    long started = System.currentTimeMillis();
+
+    Counter counter = new Counter();
+    List<String> batch = new ArrayList<>(batchSize);
+
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(folder)) {
+      for (Path path : files) {
+        if (counter.deleted >= maxDeletes) break;
+
+        BasicFileAttributes attributes = attributesOf(path);
+        if (attributes == null || !attributes.isRegularFile()) continue;
+
+        counter.scanned++;
+        if (attributes.lastModifiedTime().toInstant().isAfter(cutoff)) continue;
+
+        String fileName = path.getFileName().toString();
+
+        if (fileName.startsWith(TEMP_PREFIX)) {
+          // 업로드 도중 끊겨 남은 임시 파일
+          deleteDirectly(path, attributes.size(), counter);
+        } else if (ThumbnailGenerator.originalOf(fileName) != null) {
+          // 원본이 이미 지워진 썸네일
+          if (!Files.exists(folder.resolve(ThumbnailGenerator.originalOf(fileName)))) {
+            deleteDirectly(path, attributes.size(), counter);
+          }
+        } else {
+          batch.add(fileName);
+          if (batch.size() >= batchSize) {
+            collectBatch(batch, counter);
+            batch.clear();
+            pause();
+          }
+        }
+      }
+    } catch (IOException e) {
+      throw new RuntimeException("업로드 폴더 읽기 실패: " + e.getMessage());
+    }
+
+    if (!batch.isEmpty() && counter.deleted < maxDeletes) {
+      collectBatch(batch, counter);
+    }
+
+    Report report = new Report(counter.scanned, counter.deleted, counter.reclaimedBytes);
+    log.info("업로드 파일 정리 완료 - 검사: {}, 삭제: {}, 회수: {} bytes, {} ms",
+        report.scanned(), report.deleted(), report.reclaimedBytes(), System.currentTimeMillis() - started);
+    return report;
+  }
+
+  // 배치 단위로 참조 여부를 한 번에 조회하고, 참조가 없는 파일만 잠금 안에서 다시 확인한 뒤 삭제
+  private void collectBatch(List<String> fileNames, Counter counter) {
+    Set<String> referenced = uploadReferences.referencedAmong(fileNames);
+
+    for (String fileName : fileNames) {
+      if (counter.deleted >= maxDeletes) return;
+      if (referenced.contains(fileName)) continue;
+
+      long reclaimed = fileUtil.deleteIfUnreferenced(fileName);
+      if (reclaimed >= 0) {
+        counter.deleted++;
+        counter.reclaimedBytes += reclaimed;
+      }
+    }
+  }
+
+  private void deleteDirectly(Path path, long size, Counter counter) {
+    try {
+      if (Files.deleteIfExists(path)) {
+        counter.deleted++;
+        counter.reclaimedBytes += size;
+        log.debug("정리된 파일: {}", path.getFileName());
+      }
+    } catch (IOException e) {
+      log.warn("파일 삭제 실패 - {}: {}", path.getFileName(), e.getMessage());
+    }
+  }
+
+  private void pause() {
+    if (batchPauseMs <= 0) return;
+    try {
+      Thread.sleep(batchPauseMs);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static BasicFileAttributes attributesOf(Path path) {
+    try {
+      return Files.readAttributes(path, BasicFileAttributes.class);
+    } catch (NoSuchFileException e) {
+      return null;
+    } catch (IOException e) {
+      log.warn("파일 정보 읽기 실패 - {}: {}", path.getFileName(), e.getMessage());
+      return null;
+    }
+  }
+
+  private static class Counter {
+    int scanned;
+    int deleted;
+    long reclaimedBytes;
+  }
+}
@@ -0,0 +1,52 @@
+package com.gifree.service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gifree.repository.CollectionRepository;
+import com.gifree.repository.DonationBoardRepository;
+import com.gifree.repository.DonationProductsRepository;
+import com.gifree.repository.EventRepository;
+import com.gifree.repository.OrderItemRepository;
+import com.gifree.repository.ProductRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 업로드 파일명을 참조하는 곳(상품, 이벤트, 기부 게시글, 기부 상품, 주문 상품, 보관함)을 조회한다.
+ * 주문 내역과 보관함은 상품이 삭제된 뒤에도 이미지를 보여주므로 참조 수와 관계없이 여기서 함께 확인한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class UploadReferences {
+
+  private final ProductRepository productRepository;
+  private final EventRepository eventRepository;
+  private final DonationBoardRepository donationBoardRepository;
+  private final DonationProductsRepository donationProductsRepository;
+  private final OrderItemRepository orderItemRepository;
+  private final CollectionRepository collectionRepository;
+
+  /** 주어진 파일명 중 어딘가에서 참조하는 것 */
+  public Set<String> referencedAmong(List<String> fileNames) {
+    Set<String> referenced = new HashSet<>();
+    if (fileNames.isEmpty()) return referenced;
+
+    referenced.addAll(productRepository.selectReferencedFiles(fileNames));
+    referenced.addAll(eventRepository.selectReferencedFiles(fileNames));
+    referenced.addAll(donationBoardRepository.selectReferencedFiles(fileNames));
+    referenced.addAll(donationProductsRepository.selectReferencedFiles(fileNames));
+    referenced.addAll(orderItemRepository.selectReferencedFiles(fileNames));
+    referenced.addAll(collectionRepository.selectReferencedFiles(fileNames));
+    return referenced;
+  }
+
+  public boolean isReferenced(String fileName) {
+    return !referencedAmong(List.of(fileName)).isEmpty();
+  }
+}
@@ -0,0 +1,59 @@
+package com.gifree.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * 최대 개수를 넘으면 가장 오래 사용하지 않은 항목부터 버리는 LRU 캐시.
+ * 모든 연산은 캐시 단위로 동기화되며, 항목이 밀려날 때 evictionListener 를 호출한다.
+ */
+public class BoundedCache<K, V> {
+
+  private final int maxSize;
+
+  private final BiConsumer<K, V> evictionListener;
+
+  private final LinkedHashMap<K, V> map;
+
+  public BoundedCache(int maxSize) {
+    this(maxSize, (key, value) -> {});
+  }
+
+  public BoundedCache(int maxSize, BiConsumer<K, V> evictionListener) {
+    if (maxSize <= 0) throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+
+    this.maxSize = maxSize;
+    this.evictionListener = evictionListener;
+    // accessOrder = true : get 한 항목이 가장 최근으로 이동
+    this.map = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+        if (size() <= BoundedCache.this.maxSize) return false;
+        BoundedCache.this.evictionListener.accept(eldest.getKey(), eldest.getValue());
+        return true;
+      }
+    };
+  }
+
+  public synchronized V get(K key) {
+    return map.get(key);
+  }
+
+  /** 이전 값을 반환 (없으면 null) */
+  public synchronized V put(K key, V value) {
+    return map.put(key, value);
+  }
+
+  public synchronized V remove(K key) {
+    return map.remove(key);
+  }
+
+  public synchronized void clear() {
+    map.clear();
+  }
+
+  public synchronized int size() {
+    return map.size();
+  }
+}
@@ -2,29 +2,73 @@ package com.gifree.util;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import net.coobird.thumbnailator.Thumbnails;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.*;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.gifree.service.StoredFileReleasedEvent;
+import com.gifree.service.StoredFileService;
+import com.gifree.service.UploadReferences;
+
 import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 @Component
 @Log4j2
 @RequiredArgsConstructor
 public class CustomFileUtil {
 
+  // Tomcat sendfile 요청 속성 (org.apache.coyote.Constants)
+  private static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+  private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+  private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+  private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+  // 이보다 작은 파일은 직접 쓰는 편이 sendfile 준비 비용보다 싸다 (Tomcat DefaultServlet 과 같은 기준)
+  private static final long SENDFILE_MIN_SIZE = 48 * 1024;
+
+  private static final String IMMUTABLE_CACHE_CONTROL =
+      CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable().getHeaderValue();
+
+  // 같은 파일명의 저장과 삭제가 겹치지 않게 하는 잠금 (파일명 해시로 나눔)
+  private static final int LOCK_STRIPES = 64;
+
   @Value("${com.gifree.upload.path}")
   private String uploadPath;
 
+  // true 면 내용 해시(sha256.확장자)로 저장해 같은 파일은 한 번만 저장, false 면 기존처럼 UUID_원본명
+  @Value("${com.gifree.upload.content-addressed:false}")
+  private boolean contentAddressed;
+
+  private final ThumbnailGenerator thumbnailGenerator;
+
+  private final StoredFileService storedFileService;
+
+  private final UploadReferences uploadReferences;
+
+  private final Object[] locks = createLocks();
+
   @PostConstruct
   public void init() {
     File uploadFolder = new File(uploadPath);
@@ -40,32 +84,98 @@ public class CustomFileUtil {
     List<String> savedFileNames = new ArrayList<>();
 
     for (MultipartFile file : files) {
-      String uuid = UUID.randomUUID().toString();
-      String originalName = sanitizeFileName(file.getOriginalFilename());
-      String savedName = uuid + "_" + originalName;
+      try (InputStream in = file.getInputStream()) {
+        savedFileNames.add(save(in, file.getOriginalFilename(), file.getContentType()));
+      } catch (IOException e) {
+        throw new RuntimeException("파일 저장 실패: " + e.getMessage());
+      }
+    }
+
+    return savedFileNames;
+  }
+
+  /**
+   * 스트림 하나를 업로드 폴더에 저장하고 저장 파일명을 반환.
+   * 스트림을 끝까지 한 번만 읽으며 임시 파일 쓰기와 해시 계산을 함께 한다 (스트리밍 multipart 업로드에서도 사용).
+   * 읽는 중 예외가 나면 임시 파일을 지우고 그대로 던진다.
+   */
+  public String save(InputStream source, String originalFilename, String contentType) throws IOException {
+    String uuid = UUID.randomUUID().toString();
+    String originalName = sanitizeFileName(originalFilename);
 
-      Path savePath = Paths.get(uploadPath, savedName);
+    // 임시 파일명에는 원본명을 넣지 않음 (내용 해시로 저장하면 원본명이 필요 없고, OS 인코딩 문제도 피함)
+    Path tempPath = Paths.get(uploadPath, "tmp_" + uuid);
 
-      try {
-        Files.copy(file.getInputStream(), savePath);
-           // ✅ 저장 완료 후 확인
-      log.info("✅ 파일 저장 완료: " + savedName);
-      log.info("✅ 파일 크기: " + Files.size(savePath) + " bytes");
-      log.info("✅ 파일 존재 여부: " + Files.exists(savePath));
-
-        if (file.getContentType() != null && file.getContentType().startsWith("image")) {
-          Path thumbnailPath = Paths.get(uploadPath, "s_" + savedName);
-          Thumbnails.of(savePath.toFile()).size(200, 200).toFile(thumbnailPath.toFile());
+    try {
+      // 임시 파일에 쓰면서 해시를 계산하고, 디스크에 반영(fsync)한 뒤 이름을 바꿔 응답 후에는 원본이 온전히 남아 있도록 함
+      MessageDigest digest = sha256();
+      long size;
+      try (InputStream in = new DigestInputStream(source, digest)) {
+        size = Files.copy(in, tempPath);
+      }
+      try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.WRITE)) {
+        channel.force(true);
+      }
+
+      String savedName;
+      boolean created;
+      if (contentAddressed) {
+        String sha256 = HexFormat.of().formatHex(digest.digest());
+        savedName = contentAddressedName(sha256, originalName);
+        created = store(tempPath, savedName, sha256, size);
+      } else {
+        savedName = uuid + "_" + originalName;
+        Files.move(tempPath, Paths.get(uploadPath, savedName), StandardCopyOption.ATOMIC_MOVE);
+        created = true;
+      }
+
+      if (created) {
+        log.info("✅ 파일 저장 완료: " + savedName + " (" + size + " bytes)");
+
+        // 썸네일은 업로드 응답을 막지 않도록 백그라운드에서 생성
+        if (contentType != null && contentType.startsWith("image")) {
+          thumbnailGenerator.request(savedName);
         }
+      } else {
+        log.info("✅ 같은 내용의 파일이 있어 기존 파일 사용: " + savedName + " (" + size + " bytes)");
+      }
 
-        savedFileNames.add(savedName);
+      return savedName;
 
-      } catch (IOException e) {
-        throw new RuntimeException("파일 저장 실패: " + e.getMessage());
+    } catch (IOException | RuntimeException e) {
+      try {
+        Files.deleteIfExists(tempPath);
+      } catch (IOException ignored) {
+        // 남은 임시 파일은 다음 정리 때 삭제
       }
+      throw e;
     }
+  }
 
-    return savedFileNames;
+  // 같은 이름(= 같은 내용)의 파일이 이미 있으면 임시 파일을 버리고 false
+  private boolean store(Path tempPath, String savedName, String sha256, long size) throws IOException {
+    Path savePath = Paths.get(uploadPath, savedName);
+
+    synchronized (lockOf(savedName)) {
+      boolean exists = Files.exists(savePath);
+      if (exists) {
+        Files.delete(tempPath);
+      } else {
+        Files.move(tempPath, savePath, StandardCopyOption.ATOMIC_MOVE);
+      }
+      storedFileService.register(savedName, sha256, size);
+      return !exists;
+    }
+  }
+
+  // sha256 + 원본 확장자 (확장자로 Content-Type 과 썸네일 대상 여부를 판단하므로 유지)
+  private static String contentAddressedName(String sha256, String originalName) {
+    int dot = originalName.lastIndexOf('.');
+    String extension = dot < 0 ? "" : originalName.substring(dot + 1).toLowerCase(Locale.ROOT);
+    if (extension.isEmpty() || extension.length() > 10 || !extension.matches("[a-z0-9]+")) {
+      return sha256;
+    }
+    return sha256 + "." + extension;
   }
 
   public ResponseEntity<Resource> getFile(String filename) {
@@ -99,19 +209,245 @@ public class CustomFileUtil {
 
 
 
+  /**
+   * 업로드 파일 전송 (상품 이미지 뷰).
+   * 저장 파일명은 UUID 가 붙어 같은 이름으로 내용이 바뀌지 않으므로, 파일명에서 만든 강한 ETag 와
+   * immutable 캐시 헤더를 내려 브라우저가 다시 받지 않게 한다. 조건부 요청은 304, 단일 Range 는 206 으로 응답하고,
+   * 본문은 Tomcat sendfile(커널 zero-copy) 또는 FileChannel.transferTo 로 보낸다.
+   */
+  public void sendFile(String filename, HttpServletRequest request, HttpServletResponse response) throws IOException {
+    Path path = resolve(filename);
+    BasicFileAttributes attributes = readAttributes(path);
+    String etagName = filename;
+    String cacheControl = IMMUTABLE_CACHE_CONTROL;
+
+    // 썸네일이 아직 없으면 생성을 예약하고 원본으로 응답 (나중에 썸네일로 바뀌므로 매번 재검증)
+    String original = ThumbnailGenerator.originalOf(filename);
+    if (attributes == null && original != null) {
+      Path originalPath = resolve(original);
+      BasicFileAttributes originalAttributes = readAttributes(originalPath);
+      if (originalAttributes != null) {
+        thumbnailGenerator.request(original);
+        path = originalPath;
+        attributes = originalAttributes;
+        etagName = original;
+        cacheControl = CacheControl.noCache().getHeaderValue();
+      }
+    }
+
+    if (attributes == null) {
+      log.debug("sendFile - not found: {}", filename);
+      response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+      return;
+    }
+
+    long length = attributes.size();
+    long lastModified = attributes.lastModifiedTime().toMillis();
+    String etag = etagOf(etagName);
+
+    response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+
+    // If-None-Match / If-Modified-Since 가 맞으면 304 (ETag, Last-Modified 헤더도 여기서 설정됨)
+    if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+      return;
+    }
+
+    response.setContentType(contentTypeOf(filename));
+    response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+    long start = 0;
+    long end = length - 1;
+
+    String range = request.getHeader(HttpHeaders.RANGE);
+    if (range != null && ifRangeMatches(request, etag, lastModified)) {
+      List<HttpRange> ranges = parseRanges(range);
+      // 여러 구간 요청은 전체 파일로 응답 (이미지 뷰에서는 쓰이지 않음)
+      if (ranges.size() == 1) {
+        try {
+          start = ranges.get(0).getRangeStart(length);
+          end = ranges.get(0).getRangeEnd(length);
+        } catch (IllegalArgumentException e) {
+          start = length;
+        }
+        // 형식은 맞지만 파일 범위를 벗어난 요청만 416
+        if (start >= length || start > end) {
+          response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+          response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+          return;
+        }
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+      }
+    }
+
+    long count = end - start + 1;
+    response.setContentLengthLong(count);
+
+    if ("HEAD".equalsIgnoreCase(request.getMethod()) || count <= 0) {
+      return;
+    }
+
+    // 커넥터가 sendfile 을 지원하면 서블릿이 반환된 뒤 Tomcat 이 파일을 소켓으로 직접 보냄
+    if (count >= SENDFILE_MIN_SIZE && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR))) {
+      request.setAttribute(SENDFILE_FILENAME_ATTR, path.toAbsolutePath().toString());
+      request.setAttribute(SENDFILE_START_ATTR, start);
+      request.setAttribute(SENDFILE_END_ATTR, end + 1);
+      return;
+    }
+
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+      long position = start;
+      long remaining = count;
+      while (remaining > 0) {
+        long sent = channel.transferTo(position, remaining, out);
+        if (sent <= 0) break;
+        position += sent;
+        remaining -= sent;
+      }
+    }
+  }
+
+  // 일반 파일이 아니거나 없으면 null
+  private static BasicFileAttributes readAttributes(Path path) throws IOException {
+    if (path == null) return null;
+    try {
+      BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+      return attributes.isRegularFile() ? attributes : null;
+    } catch (NoSuchFileException e) {
+      return null;
+    }
+  }
+
+  // 업로드 폴더 밖을 가리키는 이름은 거부
+  private Path resolve(String filename) {
+    if (filename == null || filename.isBlank() || filename.contains("/") || filename.contains("\\")) return null;
+
+    Path base = Paths.get(uploadPath).toAbsolutePath().normalize();
+    Path path = base.resolve(filename).normalize();
+    return path.startsWith(base) && !path.equals(base) ? path : null;
+  }
+
+  // 저장 파일명(sha256.확장자, UUID_원본명, s_ 썸네일)은 내용이 바뀌지 않으므로 이름의 해시를 강한 ETag 로 사용
+  private static String etagOf(String filename) {
+    byte[] digest = sha256().digest(filename.getBytes(StandardCharsets.UTF_8));
+    return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  // 확장자로 결정 (요청마다 파일 내용을 읽는 Files.probeContentType 을 쓰지 않음)
+  private static String contentTypeOf(String filename) {
+    return MediaTypeFactory.getMediaType(filename)
+        .orElse(MediaType.APPLICATION_OCTET_STREAM)
+        .toString();
+  }
+
+  // 형식이 잘못된 Range 는 없는 것으로 보고 전체를 보냄 (RFC 9110 14.2)
+  private static List<HttpRange> parseRanges(String range) {
+    try {
+      return HttpRange.parseRanges(range);
+    } catch (IllegalArgumentException e) {
+      log.debug("잘못된 Range 무시: {}", range);
+      return List.of();
+    }
+  }
+
+  // If-Range 가 현재 파일과 다르면 Range 를 무시하고 전체를 보냄
+  private static boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+    String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+    if (ifRange == null) return true;
+
+    if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+      return ifRange.equals(etag);
+    }
+    try {
+      return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  /**
+   * 파일 삭제. 주문 내역이나 보관함처럼 다른 곳에서 아직 참조하는 파일은 남기고,
+   * 내용 해시로 저장한 파일은 참조 수가 0이고 업로드 유예 시간이 지났을 때만 지운다.
+   */
   public void deleteFiles(List<String> fileNames) {
     if (fileNames == null || fileNames.isEmpty()) return;
 
     for (String fileName : fileNames) {
-      Path filePath = Paths.get(uploadPath, fileName);
-      Path thumbnailPath = Paths.get(uploadPath, "s_" + fileName);
+      deleteIfUnreferenced(fileName);
+    }
+  }
+
+  // 엔티티 삭제/수정으로 참조 수가 0이 된 파일을 커밋 이후 삭제
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onStoredFileReleased(StoredFileReleasedEvent event) {
+    for (String fileName : event.getFileNames()) {
       try {
-        Files.deleteIfExists(filePath);
-        Files.deleteIfExists(thumbnailPath);
-      } catch (IOException e) {
-        throw new RuntimeException("파일 삭제 실패: " + e.getMessage());
+        deleteIfUnreferenced(fileName);
+      } catch (RuntimeException e) {
+        // 지우지 못한 파일은 다음 정리 때 삭제
+        log.warn("참조가 없는 파일 삭제 실패 - {}: {}", fileName, e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * 어떤 엔티티도 참조하지 않는 파일(과 썸네일)을 삭제하고 지운 바이트 수를 반환 (지우지 않았으면 -1).
+   * 내용 해시로 저장한 파일은 참조 수가 0이고 업로드 유예 시간이 지났을 때만 지운다.
+   */
+  public long deleteIfUnreferenced(String fileName) {
+    synchronized (lockOf(fileName)) {
+      // 주문 내역, 보관함처럼 참조 수로 관리하지 않는 곳에서 아직 보여주는 이미지는 남김
+      if (uploadReferences.isReferenced(fileName)) return -1;
+
+      if (storedFileService.isTracked(fileName) && !storedFileService.deleteIfUnreferenced(fileName)) return -1;
+
+      long deleted = deleteFromDisk(fileName);
+      log.info("참조가 없는 파일 삭제: " + fileName + " (" + deleted + " bytes)");
+      return deleted;
+    }
+  }
+
+  // 원본과 크기별 썸네일 삭제 - 지운 바이트 수를 반환
+  private long deleteFromDisk(String fileName) {
+    Path filePath = resolve(fileName);
+    if (filePath == null) return 0;
+
+    try {
+      long deleted = deleteIfExists(filePath);
+      for (ThumbnailGenerator.Size size : ThumbnailGenerator.Size.values()) {
+        deleted += deleteIfExists(Paths.get(uploadPath, size.fileName(fileName)));
       }
+      return deleted;
+    } catch (IOException e) {
+      throw new RuntimeException("파일 삭제 실패: " + e.getMessage());
+    }
+  }
+
+  private static long deleteIfExists(Path path) throws IOException {
+    BasicFileAttributes attributes = readAttributes(path);
+    if (attributes == null) return 0;
+    return Files.deleteIfExists(path) ? attributes.size() : 0;
+  }
+
+  private Object lockOf(String fileName) {
+    return locks[Math.floorMod(fileName.hashCode(), LOCK_STRIPES)];
+  }
+
+  private static Object[] createLocks() {
+    Object[] locks = new Object[LOCK_STRIPES];
+    for (int i = 0; i < LOCK_STRIPES; i++) {
+      locks[i] = new Object();
     }
+    return locks;
   }
 
   /**
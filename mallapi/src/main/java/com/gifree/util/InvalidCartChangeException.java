@@ -0,0 +1,12 @@
+package com.gifree.util;
+
+/**
+ * 장바구니에 담을 수 없는 상품이거나 변경 요청 값이 잘못된 경우.
+ * CustomControllerAdvice 에서 400 Bad Request 로 응답한다.
+ */
+public class InvalidCartChangeException extends RuntimeException {
+
+    public InvalidCartChangeException(String message) {
+        super(message);
+    }
+}
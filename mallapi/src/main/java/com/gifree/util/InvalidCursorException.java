@@ -0,0 +1,12 @@
+package com.gifree.util;
+
+/**
+ * 목록 조회의 after 커서를 해석할 수 없는 경우.
+ * CustomControllerAdvice 에서 400 Bad Request 로 응답한다.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String cursor, Throwable cause) {
+        super("invalid cursor: " + cursor, cause);
+    }
+}
@@ -1,51 +1,106 @@
 package com.gifree.util;
 
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
 import java.time.ZonedDateTime;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Map;
 
 import javax.crypto.SecretKey;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.InvalidClaimException;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 import io.jsonwebtoken.security.Keys;
+import lombok.extern.log4j.Log4j2;
 
+/**
+ * JWT 발급/검증.
+ *
+ * 서명 키와 파서는 시작할 때 한 번만 만들고 모든 요청에서 같이 쓴다 (JwtParser 는 불변이라 여러 스레드에서 안전).
+ * 발급하는 토큰 헤더에는 현재 키 id(kid)를 넣고, 검증할 때는 kid 로 키를 고른다.
+ * 키를 바꿀 때는 새 키를 active 로 두고 이전 키를 retired-keys 에 남겨 두면 이미 발급된 토큰도 만료될 때까지 통과한다.
+ * kid 가 없는 예전 토큰은 기본 키(legacy-secret)로 검증한다.
+ *
+ * iat 는 초 단위라 회원 단위 회수(VerifiedTokenCache.revokeMember)와 같은 초에 발급된 토큰을 구분하지 못하므로,
+ * 발급 시각을 밀리초로 한 번 더 담는다 (ims).
+ */
+@Component
+@Log4j2
 public class JWTUtil {
 
-    private static final String SECRET_KEY = "1234567890123456789012345678901234567890";
+    /** 발급 시각(epoch ms) claim */
+    public static final String ISSUED_AT_MILLIS = "ims";
 
-    public static String generateToken(Map<String, Object> valueMap, int min) {
-        SecretKey key;
-        try {
-            key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes("UTF-8"));
-        } catch (Exception e) {
-            throw new RuntimeException(e.getMessage());
+    private final String activeKid;
+
+    private final SecretKey activeKey;
+
+    private final SecretKey legacyKey;
+
+    private final Map<String, SecretKey> keys = new HashMap<>();
+
+    private final JwtParser parser;
+
+    public JWTUtil(@Value("${com.gifree.jwt.active-kid:k1}") String activeKid,
+                   @Value("${com.gifree.jwt.secret:1234567890123456789012345678901234567890}") String secret,
+                   @Value("${com.gifree.jwt.legacy-secret:1234567890123456789012345678901234567890}") String legacySecret,
+                   @Value("${com.gifree.jwt.retired-keys:}") String retiredKeys) {
+        this.activeKid = activeKid;
+        this.activeKey = keyOf(secret);
+        this.legacyKey = keyOf(legacySecret);
+
+        // 형식: kid:secret,kid:secret
+        for (String entry : retiredKeys.split(",")) {
+            if (entry.isBlank()) continue;
+            int colon = entry.indexOf(':');
+            if (colon <= 0) {
+                throw new IllegalArgumentException("com.gifree.jwt.retired-keys 형식 오류 (kid:secret): " + entry);
+            }
+            keys.put(entry.substring(0, colon).trim(), keyOf(entry.substring(colon + 1).trim()));
         }
+        keys.put(activeKid, activeKey);
+
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return keyFor(header.getKeyId());
+                    }
+                })
+                .build();
+
+        log.info("JWT keys - active: {}, retired: {}", activeKid, keys.size() - 1);
+    }
 
+    public String generateToken(Map<String, Object> valueMap, int min) {
         // 호출 시점마다 시간 생성 → 토큰이 항상 달라짐
         ZonedDateTime now = ZonedDateTime.now();
 
         return Jwts.builder()
                 .setHeader(Map.of("typ", "JWT"))
+                .setHeaderParam(JwsHeader.KEY_ID, activeKid)
                 .setClaims(valueMap)
                 .setIssuedAt(Date.from(now.toInstant()))
+                .claim(ISSUED_AT_MILLIS, now.toInstant().toEpochMilli())
                 .setExpiration(Date.from(now.plusMinutes(min).toInstant()))
-                .signWith(key)
+                .signWith(activeKey)
                 .compact();
     }
 
-    public static Map<String, Object> validateToken(String token) {
+    public Map<String, Object> validateToken(String token) {
         try {
-            SecretKey key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes("UTF-8"));
-
-            return Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return parser.parseClaimsJws(token).getBody();
 
         } catch (MalformedJwtException e) {
             throw new CustomJWTException("Malformed JWT token");
@@ -59,4 +114,26 @@ public class JWTUtil {
             throw new CustomJWTException("Unknown error");
         }
     }
-}
\ No newline at end of file
+
+    /** 토큰의 발급 시각(epoch ms) - ims 가 없는 예전 토큰은 iat(초)의 시작 */
+    public static long issuedAtMillis(Map<String, Object> claims) {
+        Object millis = claims.get(ISSUED_AT_MILLIS);
+        if (millis instanceof Number number) return number.longValue();
+
+        return ((Number) claims.get("iat")).longValue() * 1000;
+    }
+
+    private Key keyFor(String kid) {
+        if (kid == null) return legacyKey;
+
+        SecretKey key = keys.get(kid);
+        if (key == null) {
+            throw new JwtException("unknown kid: " + kid);
+        }
+        return key;
+    }
+
+    private static SecretKey keyOf(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,12 @@
+package com.gifree.util;
+
+/**
+ * 업로드 요청이 multipart 가 아니거나 본문 형식이 잘못된 경우.
+ * CustomControllerAdvice 에서 400 Bad Request 로 응답한다.
+ */
+public class MalformedUploadException extends RuntimeException {
+
+    public MalformedUploadException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
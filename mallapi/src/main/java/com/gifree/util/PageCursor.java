@@ -0,0 +1,32 @@
+package com.gifree.util;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * 커서(keyset) 페이징용 next-cursor 인코딩.
+ * 클라이언트가 값에 의존하지 않도록 마지막 행의 키(pno, tno, id)를 Base64(URL-safe)로 감싸서 내려준다.
+ */
+public final class PageCursor {
+
+  private PageCursor() {}
+
+  public static String encode(Long key) {
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(key).array());
+  }
+
+  /** 빈 커서는 첫 페이지(상한 없음)를 의미, 해석할 수 없으면 InvalidCursorException */
+  public static long decode(String cursor) {
+    if (cursor == null || cursor.isBlank()) return Long.MAX_VALUE;
+
+    byte[] bytes;
+    try {
+      bytes = Base64.getUrlDecoder().decode(cursor.trim());
+    } catch (IllegalArgumentException e) {
+      throw new InvalidCursorException(cursor, e);
+    }
+    if (bytes.length != Long.BYTES) throw new InvalidCursorException(cursor, null);
+    return ByteBuffer.wrap(bytes).getLong();
+  }
+}
@@ -0,0 +1,20 @@
+package com.gifree.util;
+
+import java.util.List;
+
+import lombok.Getter;
+
+/**
+ * 주문하려는 상품이 이미 다른 주문에서 판매(예약)된 경우.
+ * CustomControllerAdvice 에서 409 Conflict 로 응답한다.
+ */
+@Getter
+public class ProductSoldOutException extends RuntimeException {
+
+    private final List<Long> pnos;
+
+    public ProductSoldOutException(List<Long> pnos) {
+        super("이미 판매된 상품이 포함되어 있습니다: " + pnos);
+        this.pnos = List.copyOf(pnos);
+    }
+}
@@ -0,0 +1,121 @@
+package com.gifree.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.tomcat.util.http.fileupload.FileItemIterator;
+import org.apache.tomcat.util.http.fileupload.FileItemStream;
+import org.apache.tomcat.util.http.fileupload.FileUpload;
+import org.apache.tomcat.util.http.fileupload.FileUploadException;
+import org.apache.tomcat.util.http.fileupload.MultipartStream.MalformedStreamException;
+import org.apache.tomcat.util.http.fileupload.impl.FileUploadIOException;
+import org.apache.tomcat.util.http.fileupload.impl.SizeException;
+import org.apache.tomcat.util.http.fileupload.servlet.ServletRequestContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.web.servlet.MultipartProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * multipart 요청 본문을 소켓에서 읽는 대로 처리하는 업로드 리더.
+ *
+ * 서블릿 multipart 처리(MultipartFile)는 파트마다 임시 파일에 먼저 받은 뒤 다시 업로드 폴더로 복사하지만,
+ * 여기서는 파일 파트를 CustomFileUtil.save 에 바로 넘겨 한 번만 쓴다 (해시 계산, 썸네일 예약도 같은 과정에서 처리).
+ * 파일 하나 / 요청 전체 크기 제한은 spring.servlet.multipart 설정을 그대로 쓰며, 읽는 도중 넘으면 바로 중단한다.
+ *
+ * 컨트롤러에서 MultipartFile 이나 요청 파라미터를 먼저 읽으면 본문이 이미 소비되므로,
+ * 이 리더를 쓰는 핸들러는 HttpServletRequest 만 받아야 한다 (spring.servlet.multipart.resolve-lazily=true 필요).
+ */
+@Component
+@Log4j2
+@RequiredArgsConstructor
+public class StreamingMultipartReader {
+
+  /** 일반 폼 필드(이름 -> 값 목록)와 저장된 파일명 (업로드 순서) */
+  public record Upload(Map<String, List<String>> fields, List<String> fileNames) {}
+
+  private final CustomFileUtil fileUtil;
+
+  private final MultipartProperties multipartProperties;
+
+  // 서블릿 multipart 처리와 같은 파트 개수 제한
+  @Value("${server.tomcat.max-part-count:10}")
+  private int maxPartCount;
+
+  /**
+   * 요청 본문을 끝까지 읽으며 fileField 이름의 파일 파트는 업로드 폴더에 저장하고, 폼 필드는 모아서 반환.
+   * 크기 제한을 넘으면 MaxUploadSizeExceededException(413), 형식이 잘못되면 MalformedUploadException(400).
+   * 실패하면 이 요청에서 이미 저장한 파일은 삭제한다.
+   */
+  public Upload read(HttpServletRequest request, String fileField) {
+    String contentType = request.getContentType();
+    if (contentType == null || !contentType.toLowerCase(Locale.ROOT).startsWith(FileUpload.MULTIPART)) {
+      throw new MalformedUploadException("multipart 요청이 아닙니다: " + contentType, null);
+    }
+
+    String encoding = request.getCharacterEncoding() != null
+        ? request.getCharacterEncoding()
+        : StandardCharsets.UTF_8.name();
+
+    FileUpload upload = new FileUpload();
+    upload.setSizeMax(multipartProperties.getMaxRequestSize().toBytes());
+    upload.setFileSizeMax(multipartProperties.getMaxFileSize().toBytes());
+    upload.setFileCountMax(maxPartCount);
+    // 한글 파일명이 깨지지 않도록 파트 헤더도 요청 인코딩(기본 UTF-8)으로 읽음
+    upload.setHeaderEncoding(encoding);
+
+    Map<String, List<String>> fields = new LinkedHashMap<>();
+    List<String> fileNames = new ArrayList<>();
+
+    try {
+      FileItemIterator items = upload.getItemIterator(new ServletRequestContext(request));
+      while (items.hasNext()) {
+        FileItemStream item = items.next();
+
+        if (item.isFormField()) {
+          try (InputStream in = item.openStream()) {
+            fields.computeIfAbsent(item.getFieldName(), name -> new ArrayList<>()).add(new String(in.readAllBytes(), encoding));
+          }
+        } else if (fileField.equals(item.getFieldName()) && item.getName() != null && !item.getName().isEmpty()) {
+          try (InputStream in = item.openStream()) {
+            fileNames.add(fileUtil.save(in, item.getName(), item.getContentType()));
+          }
+        }
+        // 그 밖의 파일 파트는 읽지 않고 넘어감 (다음 파트를 찾으면서 버려짐)
+      }
+    } catch (IOException e) {
+      fileUtil.deleteFiles(fileNames);
+      throw translate(e);
+    } catch (RuntimeException e) {
+      fileUtil.deleteFiles(fileNames);
+      throw e;
+    }
+
+    return new Upload(fields, fileNames);
+  }
+
+  private static RuntimeException translate(IOException e) {
+    // 본문을 읽는 도중 넘은 제한은 FileUploadIOException 으로 감싸져 나옴
+    Throwable cause = e instanceof FileUploadIOException ? e.getCause() : e;
+
+    if (cause instanceof SizeException size) {
+      log.warn("업로드 크기 제한 초과 - {}", size.getMessage());
+      return new MaxUploadSizeExceededException(size.getPermittedSize(), e);
+    }
+    // 경계(boundary)가 없거나 본문이 중간에 끝난 경우도 요청 형식 오류
+    if (cause instanceof FileUploadException || cause instanceof MalformedStreamException) {
+      return new MalformedUploadException("잘못된 multipart 요청: " + e.getMessage(), e);
+    }
+    return new RuntimeException("파일 저장 실패: " + e.getMessage());
+  }
+}
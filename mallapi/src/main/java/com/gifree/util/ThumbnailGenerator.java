@@ -0,0 +1,172 @@
+package com.gifree.util;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.log4j.Log4j2;
+import net.coobird.thumbnailator.Thumbnails;
+
+/**
+ * 업로드된 이미지의 크기별 파생 이미지(목록/상세/레티나)를 thumbnailExecutor 에서 만든다.
+ *
+ * 업로드 요청은 원본 저장까지만 기다리고, 파생 이미지가 만들어지기 전에 들어온 요청은
+ * CustomFileUtil.sendFile 이 원본으로 대신 응답한다. 큐가 가득 차 작업이 버려졌거나 서버가 재시작되어
+ * 빠진 파생 이미지는 다음에 그 이미지를 요청할 때 다시 생성한다.
+ */
+@Component
+@Log4j2
+public class ThumbnailGenerator {
+
+  public enum Status { NONE, PENDING, PROCESSING, DONE, FAILED }
+
+  /** 파생 이미지 종류 - 파일명 앞에 prefix 를 붙여 같은 폴더에 저장 (s_ 는 기존 목록 썸네일과 같은 이름) */
+  public enum Size {
+    LIST("s_", 200),
+    DETAIL("m_", 600),
+    RETINA("l_", 1200);
+
+    private final String prefix;
+    private final int pixels;
+
+    Size(String prefix, int pixels) {
+      this.prefix = prefix;
+      this.pixels = pixels;
+    }
+
+    public String fileName(String original) {
+      return prefix + original;
+    }
+  }
+
+  private static final List<String> IMAGE_EXTENSIONS = List.of("jpg", "jpeg", "png", "gif", "bmp");
+
+  private static final double JPEG_QUALITY = 0.85;
+
+  private final TaskExecutor thumbnailExecutor;
+
+  // 진행 중이거나 최근에 끝난 작업 상태 (없으면 파일 존재 여부로 판단)
+  private final BoundedCache<String, Status> statuses = new BoundedCache<>(10_000);
+
+  @Value("${com.gifree.upload.path}")
+  private String uploadPath;
+
+  public ThumbnailGenerator(@Qualifier("thumbnailExecutor") TaskExecutor thumbnailExecutor) {
+    this.thumbnailExecutor = thumbnailExecutor;
+  }
+
+  public static boolean isImage(String fileName) {
+    int dot = fileName.lastIndexOf('.');
+    return dot > 0 && IMAGE_EXTENSIONS.contains(fileName.substring(dot + 1).toLowerCase(Locale.ROOT));
+  }
+
+  /** 파생 이미지 파일명이면 원본 파일명, 아니면 null */
+  public static String originalOf(String fileName) {
+    for (Size size : Size.values()) {
+      if (fileName.startsWith(size.prefix)) {
+        return fileName.substring(size.prefix.length());
+      }
+    }
+    return null;
+  }
+
+  /** 파생 이미지 생성을 예약 (이미 대기/진행 중이거나 실패했으면 무시) */
+  public void request(String original) {
+    if (!isImage(original)) return;
+
+    synchronized (statuses) {
+      Status current = statuses.get(original);
+      // 실패한 이미지는 캐시에서 밀려나기 전까지 다시 시도하지 않음
+      if (current == Status.PENDING || current == Status.PROCESSING || current == Status.FAILED) return;
+      statuses.put(original, Status.PENDING);
+    }
+
+    try {
+      thumbnailExecutor.execute(() -> generate(original));
+    } catch (TaskRejectedException e) {
+      // 다음에 이미지를 요청할 때 다시 예약됨
+      statuses.remove(original);
+      log.warn("thumbnail queue full - {}", original);
+    }
+  }
+
+  public Status status(String original) {
+    if (!isImage(original)) return Status.NONE;
+
+    Status status = statuses.get(original);
+    if (status != null) return status;
+
+    return allExist(original) ? Status.DONE : Status.NONE;
+  }
+
+  /** 종류별 파생 이미지 파일명 (아직 없으면 원본 파일명) */
+  public Map<String, String> variants(String original) {
+    Map<String, String> variants = new LinkedHashMap<>();
+    for (Size size : Size.values()) {
+      String name = size.fileName(original);
+      variants.put(size.name().toLowerCase(Locale.ROOT), Files.exists(Paths.get(uploadPath, name)) ? name : original);
+    }
+    return variants;
+  }
+
+  private void generate(String original) {
+    statuses.put(original, Status.PROCESSING);
+
+    Path source = Paths.get(uploadPath, original);
+    try {
+      // 원본은 한 번만 디코딩해서 모든 크기에 사용
+      BufferedImage image = ImageIO.read(source.toFile());
+      if (image == null) {
+        throw new IOException("unsupported image format");
+      }
+      String format = original.substring(original.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+
+      for (Size size : Size.values()) {
+        Path target = Paths.get(uploadPath, size.fileName(original));
+        if (Files.exists(target)) continue;
+
+        Thumbnails.Builder<BufferedImage> builder = Thumbnails.of(image);
+        // 원본보다 크게 늘리지 않음
+        if (image.getWidth() <= size.pixels && image.getHeight() <= size.pixels) {
+          builder.scale(1.0);
+        } else {
+          builder.size(size.pixels, size.pixels);
+        }
+
+        // 임시 파일에 만든 뒤 이름을 바꿔, 만들다 만 파일이 응답으로 나가지 않게 함
+        Path temp = Paths.get(uploadPath, "tmp_" + size.fileName(original));
+        builder.outputFormat(format)
+            .outputQuality(JPEG_QUALITY)
+            .toFile(temp.toFile());
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      }
+      statuses.put(original, Status.DONE);
+      log.debug("thumbnails generated - {}", original);
+    } catch (IOException | RuntimeException e) {
+      statuses.put(original, Status.FAILED);
+      log.error("thumbnail generation failed - {}: {}", original, e.getMessage());
+    }
+  }
+
+  private boolean allExist(String original) {
+    for (Size size : Size.values()) {
+      if (!Files.exists(Paths.get(uploadPath, size.fileName(original)))) return false;
+    }
+    return true;
+  }
+}
@@ -0,0 +1,89 @@
+package com.gifree.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gifree.dto.MemberDTO;
+import com.gifree.service.DonationProductResolver;
+import com.gifree.util.JWTUtil;
+
+import lombok.extern.log4j.Log4j2;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Log4j2
+public class CartControllerTests {
+
+  @LocalServerPort
+  int port;
+
+  @Autowired
+  JWTUtil jwtUtil;
+
+  @Autowired
+  DonationProductResolver donationProductResolver;
+
+  @Autowired
+  ObjectMapper objectMapper;
+
+  HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+  // 기부 상품을 장바구니에 담으면 400
+  @Test
+  public void testDonationItemRejected() throws Exception {
+
+    Long donationPno = donationProductResolver.getOrCreate().getPno();
+
+    HttpResponse<String> response = post("/api/cart/change", Map.of("pno", donationPno, "qty", 1));
+    log.info(response.statusCode() + " " + response.body());
+
+    assertEquals(400, response.statusCode());
+    assertTrue(response.body().contains("기부 상품"));
+  }
+
+  // 일괄 변경은 100개를 넘거나 pno 가 없으면 400, 빈 목록은 현재 장바구니를 그대로 반환
+  @Test
+  public void testBulkChangeRejected() throws Exception {
+
+    List<Map<String, Object>> tooMany = new ArrayList<>();
+    for (long pno = 1; pno <= 101; pno++) {
+      tooMany.add(Map.of("pno", pno, "qty", 1));
+    }
+
+    HttpResponse<String> overLimit = post("/api/cart/bulk", tooMany);
+    assertEquals(400, overLimit.statusCode());
+    assertTrue(overLimit.body().contains("100"));
+
+    HttpResponse<String> missingPno = post("/api/cart/bulk", List.of(Map.of("qty", 1)));
+    assertEquals(400, missingPno.statusCode());
+    assertTrue(missingPno.body().contains("pno is required"));
+
+    assertEquals(200, post("/api/cart/bulk", List.of()).statusCode());
+  }
+
+  private HttpResponse<String> post(String path, Object body) throws Exception {
+    String accessToken = jwtUtil.generateToken(new MemberDTO(
+        "cart-" + UUID.randomUUID() + "@aaa.com", "", "cart", false, List.of("USER")).getTokenClaims(), 10);
+
+    HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+        .header("Content-Type", "application/json")
+        .header("Authorization", "Bearer " + accessToken)
+        .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+        .build();
+    return client.send(request, HttpResponse.BodyHandlers.ofString());
+  }
+}
@@ -0,0 +1,279 @@
+package com.gifree.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gifree.domain.OrderItem;
+import com.gifree.dto.ProductDTO;
+import com.gifree.repository.OrderItemRepository;
+import com.gifree.repository.StoredFileRepository;
+import com.gifree.service.ProductService;
+import com.gifree.util.CustomFileUtil;
+
+import lombok.extern.log4j.Log4j2;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Log4j2
+public class FileUploadTests {
+
+  @LocalServerPort
+  int port;
+
+  @Value("${com.gifree.upload.path}")
+  String uploadPath;
+
+  @Autowired
+  CustomFileUtil fileUtil;
+
+  @Autowired
+  ProductService productService;
+
+  @Autowired
+  StoredFileRepository storedFileRepository;
+
+  @Autowired
+  ObjectMapper objectMapper;
+
+  @Autowired
+  OrderItemRepository orderItemRepository;
+
+  HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+  String boundary = "----gifree" + UUID.randomUUID();
+
+  // multipart 본문을 읽는 대로 업로드 폴더에 저장 (내용 해시 이름, 한글 파일명 확장자 유지)
+  @Test
+  public void testStreamingUpload() throws Exception {
+
+    byte[] large = new byte[3 * 1024 * 1024];
+    new Random().nextBytes(large);
+    byte[] small = UUID.randomUUID().toString().getBytes();
+
+    byte[] body = multipart(
+        filePart("files", "큰파일.bin", large),
+        filePart("files", "기프티콘.txt", small));
+
+    long start = System.nanoTime();
+    HttpResponse<String> response = post("/files/upload", HttpRequest.BodyPublishers.ofByteArray(body));
+    log.info("upload " + body.length + " bytes: " + (System.nanoTime() - start) / 1_000_000 + " ms, " + response.body());
+
+    assertEquals(200, response.statusCode());
+    List<String> saved = List.of(objectMapper.readValue(response.body(), String[].class));
+
+    try {
+      assertEquals(List.of(sha256(large) + ".bin", sha256(small) + ".txt"), saved);
+      assertArrayEquals(large, Files.readAllBytes(Paths.get(uploadPath, saved.get(0))));
+      assertArrayEquals(small, Files.readAllBytes(Paths.get(uploadPath, saved.get(1))));
+    } finally {
+      cleanUp(saved);
+    }
+  }
+
+  // 상품 등록 - 파일 파트가 폼 필드보다 먼저 와도 필드를 바인딩하고 이미지 참조를 등록
+  @Test
+  public void testRegisterProduct() throws Exception {
+
+    byte[] image = UUID.randomUUID().toString().getBytes();
+
+    byte[] body = multipart(
+        filePart("files", "상품.jpg", image),
+        fieldPart("pname", "스트리밍 등록 상품"),
+        fieldPart("pdesc", "설명"),
+        fieldPart("price", "4500"),
+        fieldPart("brand", "테스트"),
+        fieldPart("discountRate", "10"),
+        fieldPart("salePrice", "4050"));
+
+    HttpResponse<String> response = post("/api/products", HttpRequest.BodyPublishers.ofByteArray(body));
+    log.info(response.body());
+    assertEquals(200, response.statusCode());
+
+    Long pno = objectMapper.readTree(response.body()).get("result").asLong();
+    ProductDTO product = productService.get(pno);
+
+    assertEquals("스트리밍 등록 상품", product.getPname());
+    assertEquals(4500, product.getPrice());
+    assertEquals(4050, product.getSalePrice());
+    assertEquals(List.of(sha256(image) + ".jpg"), product.getUploadFileNames());
+    assertEquals(1, storedFileRepository.findById(product.getUploadFileNames().get(0)).orElseThrow().getRefCount());
+
+    productService.remove(pno);
+    cleanUp(product.getUploadFileNames());
+  }
+
+  // 파일 크기 제한은 본문을 읽는 중에 검사 (Content-Length 없는 chunked 요청도 413), 쓰던 임시 파일은 남기지 않음
+  @Test
+  public void testUploadLimit() throws Exception {
+
+    long limit = 30L * 1024 * 1024;
+
+    InputStream body = new SequenceInputStream(
+        new ByteArrayInputStream(partHeader("files", "too-large.bin")),
+        new ZeroInputStream(limit + 1024 * 1024));
+
+    HttpResponse<String> response = post("/files/upload", HttpRequest.BodyPublishers.ofInputStream(() -> body));
+    log.info(response.statusCode() + " " + response.body());
+
+    assertEquals(413, response.statusCode());
+    try (Stream<Path> files = Files.list(Paths.get(uploadPath))) {
+      assertTrue(files.noneMatch(path -> path.getFileName().toString().endsWith("too-large.bin")));
+    }
+  }
+
+  // 형식이 잘못된 multipart 본문(닫는 경계 없이 끝남, 파트 헤더가 끝나지 않음)과 multipart 가 아닌 요청은 400
+  @Test
+  public void testMalformedUpload() throws Exception {
+
+    byte[] truncated = filePart("files", "잘린파일.txt", UUID.randomUUID().toString().getBytes());
+    HttpResponse<String> response = post("/files/upload", HttpRequest.BodyPublishers.ofByteArray(truncated));
+    log.info(response.statusCode() + " " + response.body());
+    assertEquals(400, response.statusCode());
+
+    byte[] brokenHeader = ("--" + boundary + "\r\nContent-Disposition: form-data; name=\"files\"").getBytes(StandardCharsets.UTF_8);
+    assertEquals(400, post("/files/upload", HttpRequest.BodyPublishers.ofByteArray(brokenHeader)).statusCode());
+
+    HttpRequest plain = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/files/upload"))
+        .header("Content-Type", "text/plain")
+        .POST(HttpRequest.BodyPublishers.ofString("files"))
+        .build();
+    assertEquals(400, client.send(plain, HttpResponse.BodyHandlers.ofString()).statusCode());
+  }
+
+  // 상품을 삭제해도 주문 내역에서 보여주는 이미지는 남기고, 어디서도 참조하지 않는 이미지만 삭제
+  @Test
+  public void testRemovePurchasedProduct() throws Exception {
+
+    // 참조 수로 관리하지 않는 예전 방식(UUID_) 파일
+    String purchasedImage = UUID.randomUUID() + "_purchased.jpg";
+    String unusedImage = UUID.randomUUID() + "_unused.jpg";
+    Files.write(Paths.get(uploadPath, purchasedImage), UUID.randomUUID().toString().getBytes());
+    Files.write(Paths.get(uploadPath, unusedImage), UUID.randomUUID().toString().getBytes());
+
+    Long purchased = productService.register(ProductDTO.builder()
+        .pname("구매된 상품").brand("테스트").price(1000).pdesc("설명")
+        .uploadFileNames(new ArrayList<>(List.of(purchasedImage))).build());
+    Long unused = productService.register(ProductDTO.builder()
+        .pname("구매되지 않은 상품").brand("테스트").price(1000).pdesc("설명")
+        .uploadFileNames(new ArrayList<>(List.of(unusedImage))).build());
+
+    OrderItem orderItem = orderItemRepository.save(OrderItem.builder()
+        .pno(purchased).pname("구매된 상품").qty(1).price(1000).imageFile(purchasedImage).build());
+
+    assertEquals(200, delete("/api/products/" + purchased).statusCode());
+    assertEquals(200, delete("/api/products/" + unused).statusCode());
+
+    assertTrue(Files.exists(Paths.get(uploadPath, purchasedImage)));
+    assertFalse(Files.exists(Paths.get(uploadPath, unusedImage)));
+
+    orderItemRepository.delete(orderItem);
+    fileUtil.deleteFiles(List.of(purchasedImage));
+    assertFalse(Files.exists(Paths.get(uploadPath, purchasedImage)));
+  }
+
+  private void cleanUp(List<String> fileNames) {
+    fileNames.forEach(storedFileRepository::deleteById);
+    fileUtil.deleteFiles(fileNames);
+  }
+
+  private HttpResponse<String> post(String path, HttpRequest.BodyPublisher body) throws Exception {
+    HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+        .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+        .POST(body)
+        .build();
+    return client.send(request, HttpResponse.BodyHandlers.ofString());
+  }
+
+  private HttpResponse<String> delete(String path) throws Exception {
+    HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).DELETE().build();
+    return client.send(request, HttpResponse.BodyHandlers.ofString());
+  }
+
+  private byte[] multipart(byte[]... parts) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (byte[] part : parts) {
+      out.write(part);
+    }
+    out.write(("--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+    return out.toByteArray();
+  }
+
+  private byte[] filePart(String name, String fileName, byte[] content) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    out.write(partHeader(name, fileName));
+    out.write(content);
+    out.write("\r\n".getBytes(StandardCharsets.UTF_8));
+    return out.toByteArray();
+  }
+
+  private byte[] partHeader(String name, String fileName) {
+    return ("--" + boundary + "\r\n"
+        + "Content-Disposition: form-data; name=\"" + name + "\"; filename=\"" + fileName + "\"\r\n"
+        + "Content-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+  }
+
+  private byte[] fieldPart(String name, String value) {
+    return ("--" + boundary + "\r\n"
+        + "Content-Disposition: form-data; name=\"" + name + "\"\r\n\r\n"
+        + value + "\r\n").getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static String sha256(byte[] content) throws Exception {
+    return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+  }
+
+  // 메모리에 올리지 않고 0 으로 채운 본문
+  private static class ZeroInputStream extends InputStream {
+
+    private long remaining;
+
+    ZeroInputStream(long size) {
+      this.remaining = size;
+    }
+
+    @Override
+    public int read() {
+      if (remaining <= 0) return -1;
+      remaining--;
+      return 0;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) {
+      if (remaining <= 0) return -1;
+      int count = (int) Math.min(length, remaining);
+      Arrays.fill(buffer, offset, offset + count, (byte) 0);
+      remaining -= count;
+      return count;
+    }
+  }
+}
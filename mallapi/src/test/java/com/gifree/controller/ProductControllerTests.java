@@ -0,0 +1,43 @@
+package com.gifree.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import lombok.extern.log4j.Log4j2;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Log4j2
+public class ProductControllerTests {
+
+  @LocalServerPort
+  int port;
+
+  HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+  // 잘못된 after 커서는 400, 빈 after 는 커서 없이 첫 페이지
+  @Test
+  public void testInvalidCursor() throws Exception {
+
+    HttpResponse<String> response = get("/api/products/list?after=@@@");
+    log.info(response.statusCode() + " " + response.body());
+
+    assertEquals(400, response.statusCode());
+    assertTrue(response.body().contains("invalid cursor"));
+
+    assertEquals(200, get("/api/products/list?after=").statusCode());
+  }
+
+  private HttpResponse<String> get(String path) throws Exception {
+    HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+    return client.send(request, HttpResponse.BodyHandlers.ofString());
+  }
+}
@@ -0,0 +1,220 @@
+package com.gifree.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.gifree.repository.StoredFileRepository;
+import com.gifree.util.CustomFileUtil;
+
+import lombok.extern.log4j.Log4j2;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Log4j2
+public class ProductImageViewTests {
+
+  @LocalServerPort
+  int port;
+
+  @Value("${com.gifree.upload.path}")
+  String uploadPath;
+
+  @Autowired
+  CustomFileUtil fileUtil;
+
+  @Autowired
+  StoredFileRepository storedFileRepository;
+
+  HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+  String fileName;
+
+  byte[] content;
+
+  @BeforeEach
+  public void createImage() throws Exception {
+    content = new byte[256 * 1024];
+    new Random(1).nextBytes(content);
+
+    fileName = UUID.randomUUID() + "_view-test.jpg";
+    Path path = Paths.get(uploadPath, fileName);
+    Files.createDirectories(path.getParent());
+    Files.write(path, content);
+  }
+
+  @AfterEach
+  public void deleteImage() throws Exception {
+    fileUtil.deleteFiles(List.of(fileName));
+  }
+
+  // 첫 요청은 ETag + immutable 캐시, 같은 ETag 로 다시 요청하면 304, Range 는 206 / 범위 밖은 416
+  @Test
+  public void testCachingAndRange() throws Exception {
+
+    HttpResponse<byte[]> full = get("/api/products/view/" + fileName, null, null);
+    assertEquals(200, full.statusCode());
+    assertEquals("image/jpeg", full.headers().firstValue("Content-Type").orElseThrow());
+    assertTrue(full.headers().firstValue("Cache-Control").orElseThrow().contains("immutable"));
+    assertEquals(content.length, full.body().length);
+
+    String etag = full.headers().firstValue("ETag").orElse(null);
+    assertNotNull(etag);
+
+    HttpResponse<byte[]> notModified = get("/api/products/view/" + fileName, "If-None-Match", etag);
+    assertEquals(304, notModified.statusCode());
+    assertEquals(0, notModified.body().length);
+
+    HttpResponse<byte[]> partial = get("/api/products/view/" + fileName, "Range", "bytes=100-199");
+    assertEquals(206, partial.statusCode());
+    assertEquals("bytes 100-199/" + content.length, partial.headers().firstValue("Content-Range").orElseThrow());
+    assertEquals(content[100], partial.body()[0]);
+    assertEquals(100, partial.body().length);
+
+    HttpResponse<byte[]> suffix = get("/api/products/view/" + fileName, "Range", "bytes=-10");
+    assertEquals(206, suffix.statusCode());
+    assertEquals(content[content.length - 1], suffix.body()[9]);
+
+    HttpResponse<byte[]> unsatisfiable = get("/api/products/view/" + fileName, "Range", "bytes=" + content.length + "-");
+    assertEquals(416, unsatisfiable.statusCode());
+
+    // 형식이 잘못된 Range 는 무시하고 전체를 200 으로
+    for (String invalid : List.of("bytes=abc", "items=0-10", "bytes=200-100")) {
+      HttpResponse<byte[]> ignored = get("/api/products/view/" + fileName, "Range", invalid);
+      assertEquals(200, ignored.statusCode(), invalid);
+      assertEquals(content.length, ignored.body().length);
+    }
+
+    assertEquals(404, get("/api/products/view/no-such-file.jpg", null, null).statusCode());
+  }
+
+  // 업로드는 원본만 저장하고 반환, 썸네일이 생기기 전에는 원본으로 응답하고 생성 후에는 크기별 썸네일로 응답
+  @Test
+  public void testAsyncThumbnails() throws Exception {
+
+    // 같은 내용이면 기존 파일을 쓰므로 실행마다 내용을 다르게 함
+    BufferedImage image = new BufferedImage(1600, 1200, BufferedImage.TYPE_INT_RGB);
+    image.setRGB(0, 0, new Random().nextInt());
+    ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+    ImageIO.write(image, "jpg", jpeg);
+
+    String saved = fileUtil.saveFiles(List.of(
+        new MockMultipartFile("files", "thumb-test.jpg", "image/jpeg", jpeg.toByteArray()))).get(0);
+
+    try {
+      long deadline = System.currentTimeMillis() + 30_000;
+      String status = null;
+      while (System.currentTimeMillis() < deadline) {
+        status = new String(get("/api/products/thumbnails/" + saved, null, null).body(), StandardCharsets.UTF_8);
+        if (status.contains("\"DONE\"") || status.contains("\"FAILED\"")) break;
+        Thread.sleep(100);
+      }
+      log.info("thumbnail status: " + status);
+      assertTrue(status.contains("\"DONE\""));
+
+      for (String prefix : List.of("s_", "m_", "l_")) {
+        HttpResponse<byte[]> thumbnail = get("/api/products/view/" + prefix + saved, null, null);
+        assertEquals(200, thumbnail.statusCode());
+        assertTrue(thumbnail.headers().firstValue("Cache-Control").orElseThrow().contains("immutable"));
+        BufferedImage resized = ImageIO.read(new ByteArrayInputStream(thumbnail.body()));
+        log.info(prefix + " " + resized.getWidth() + "x" + resized.getHeight() + ", " + thumbnail.body().length + " bytes");
+        assertTrue(resized.getWidth() < 1600);
+      }
+    } finally {
+      storedFileRepository.deleteById(saved);
+      fileUtil.deleteFiles(List.of(saved));
+    }
+
+    // 썸네일이 없는 원본은 원본으로 응답하되 재검증하도록 함
+    HttpResponse<byte[]> fallback = get("/api/products/view/s_" + fileName, null, null);
+    assertEquals(200, fallback.statusCode());
+    assertEquals(content.length, fallback.body().length);
+    assertTrue(fallback.headers().firstValue("Cache-Control").orElseThrow().contains("no-cache"));
+  }
+
+  // 기존 핸들러(/files/{filename}, FileSystemResource + probeContentType)와 처리량 비교
+  // 기본 테스트에서는 제외 - gradle benchmark --tests '*ProductImageViewTests' [-Pprofile=h2]
+  @Tag("benchmark")
+  @Test
+  public void testThroughputBenchmark() throws Exception {
+
+    int threads = 16;
+    int requests = 2000;
+
+    // 예열
+    run("/files/" + fileName, null, threads, 200);
+    run("/api/products/view/" + fileName, null, threads, 200);
+
+    double legacy = run("/files/" + fileName, null, threads, requests);
+    double streamed = run("/api/products/view/" + fileName, null, threads, requests);
+
+    String etag = get("/api/products/view/" + fileName, null, null).headers().firstValue("ETag").orElseThrow();
+    double revalidated = run("/api/products/view/" + fileName, etag, threads, requests);
+
+    log.info(String.format("image view throughput (req/s) - legacy: %.0f, sendfile: %.0f, 304 revalidation: %.0f",
+        legacy, streamed, revalidated));
+  }
+
+  private double run(String path, String etag, int threads, int requests) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    AtomicInteger failures = new AtomicInteger();
+
+    long start = System.nanoTime();
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < requests; i++) {
+      futures.add(executor.submit(() -> {
+        HttpResponse<byte[]> response = get(path, etag == null ? null : "If-None-Match", etag);
+        int expected = etag == null ? 200 : 304;
+        if (response.statusCode() != expected) failures.incrementAndGet();
+        return null;
+      }));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+    executor.shutdown();
+
+    assertEquals(0, failures.get());
+    return requests / seconds;
+  }
+
+  private HttpResponse<byte[]> get(String path, String header, String value) throws Exception {
+    HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET();
+    if (header != null) {
+      builder.header(header, value);
+    }
+    return client.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+  }
+}
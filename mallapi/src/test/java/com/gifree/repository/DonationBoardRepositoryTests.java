@@ -1,17 +1,27 @@
 package com.gifree.repository;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 import java.time.LocalDate;
 
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
 import com.gifree.domain.DonationBoard;
 
+import jakarta.persistence.EntityManager;
+
 import lombok.extern.log4j.Log4j2;
 
 @SpringBootTest
@@ -20,6 +30,12 @@ public class DonationBoardRepositoryTests {
 
     @Autowired
     private DonationBoardRepository donationBoardRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
     
     @Test
   public void testInsert() {
@@ -85,5 +101,115 @@ public class DonationBoardRepositoryTests {
     result.getContent().stream().forEach(donationBoard -> log.info(donationBoard));
 
   }
-    
-}
\ No newline at end of file
+
+  // 커서 페이징으로 끝까지 넘기면 tno 내림차순으로 빠짐없이 한 번씩 조회되어야 함
+  @Test
+  public void testCursorList() {
+
+    long after = Long.MAX_VALUE;
+    long previous = Long.MAX_VALUE;
+    int total = 0;
+
+    while (true) {
+      java.util.List<DonationBoard> rows = donationBoardRepository.findAfter(after, Limit.of(10));
+      if (rows.isEmpty()) break;
+
+      for (DonationBoard board : rows) {
+        assertTrue(board.getTno() < previous);
+        previous = board.getTno();
+      }
+      total += rows.size();
+      after = rows.get(rows.size() - 1).getTno();
+    }
+
+    log.info("cursor total: " + total + ", count: " + donationBoardRepository.count());
+    assertEquals(donationBoardRepository.count(), total);
+  }
+
+  // 2단계 목록 조회(tno 페이지 -> 이미지 fetch join)와 커서 페이징이 OFFSET 페이징과 같은 게시글을 돌려주는지 확인
+  // 이미지가 여러 장인 게시글을 섞어 25건을 넣고 앞의 3페이지를 비교 (테스트 종료 시 롤백)
+  @Transactional
+  @Test
+  public void testListPagesMatchOffset() {
+
+    for (int i = 1; i <= 25; i++) {
+      DonationBoard donationBoard = DonationBoard.builder()
+      .title("Paging..." + i)
+      .writer("user00")
+      .build();
+      for (int j = 0; j < i % 3; j++) {
+        donationBoard.addImage("paging_" + i + "_" + j + ".jpg");
+      }
+      donationBoardRepository.save(donationBoard);
+    }
+    entityManager.flush();
+    entityManager.clear();
+
+    long after = Long.MAX_VALUE;
+
+    for (int page = 0; page < 3; page++) {
+
+      Pageable pageable = PageRequest.of(page, 10, Sort.by("tno").descending());
+
+      java.util.List<Long> expected = donationBoardRepository.findAll(pageable).getContent().stream()
+          .map(DonationBoard::getTno).toList();
+
+      Page<Long> tnoPage = donationBoardRepository.findTnoPage(pageable);
+      java.util.List<DonationBoard> boards = donationBoardRepository.findAllWithImagesByTnoIn(tnoPage.getContent());
+      java.util.List<DonationBoard> cursorRows = donationBoardRepository.findAfter(after, Limit.of(10));
+
+      // 이미지 fetch join 으로 게시글이 중복되지 않아야 함
+      assertEquals(expected, tnoPage.getContent());
+      assertEquals(new java.util.HashSet<>(expected),
+          boards.stream().map(DonationBoard::getTno).collect(java.util.stream.Collectors.toSet()));
+      assertEquals(expected.size(), boards.size());
+      assertEquals(expected, cursorRows.stream().map(DonationBoard::getTno).toList());
+
+      if (expected.isEmpty()) break;
+      after = expected.get(expected.size() - 1);
+    }
+  }
+
+  // 2단계 목록 조회(tno 페이지 -> 이미지 fetch join)의 응답 시간이 게시글 수와 무관하게 일정한지 확인
+  // 1k -> 500k 까지 JDBC 배치로 채워가며 1페이지 조회 시간을 측정 (테스트 종료 시 롤백)
+  // 기본 테스트에서는 제외 - gradle benchmark --tests '*DonationBoardRepositoryTests' [-Pprofile=h2]
+  @Tag("benchmark")
+  @Transactional
+  @Test
+  public void testListBenchmark() {
+
+    int[] sizes = {1_000, 10_000, 100_000, 500_000};
+    Pageable pageable = PageRequest.of(0, 10, Sort.by("tno").descending());
+
+    long current = donationBoardRepository.count();
+
+    for (int target : sizes) {
+
+      java.util.List<Object[]> batch = new java.util.ArrayList<>();
+      for (long i = current; i < target; i++) {
+        batch.add(new Object[]{"Bench..." + i, "user00", false});
+        if (batch.size() == 1_000) {
+          jdbcTemplate.batchUpdate("insert into tbl_donationboard (title, writer, complete) values (?, ?, ?)", batch);
+          batch.clear();
+        }
+      }
+      if (!batch.isEmpty()) {
+        jdbcTemplate.batchUpdate("insert into tbl_donationboard (title, writer, complete) values (?, ?, ?)", batch);
+      }
+      current = Math.max(current, target);
+
+      long best = Long.MAX_VALUE;
+      int rows = 0;
+      for (int run = 0; run < 20; run++) {
+        entityManager.clear();
+
+        long start = System.nanoTime();
+        Page<Long> tnoPage = donationBoardRepository.findTnoPage(pageable);
+        rows = donationBoardRepository.findAllWithImagesByTnoIn(tnoPage.getContent()).size();
+        best = Math.min(best, System.nanoTime() - start);
+      }
+
+      log.info("boards: " + current + ", page rows: " + rows + ", best: " + (best / 1_000) + "us");
+    }
+  }
+}
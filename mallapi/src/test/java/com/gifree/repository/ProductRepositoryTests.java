@@ -1,9 +1,14 @@
 package com.gifree.repository;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -14,6 +19,13 @@ import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.Commit;
 
 import com.gifree.domain.Product;
+import com.gifree.dto.ProductDTO;
+import com.gifree.service.ProductSearchIndex;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 
 import org.springframework.transaction.annotation.Transactional;
 import lombok.extern.log4j.Log4j2;
@@ -24,6 +36,9 @@ public class ProductRepositoryTests {
 
   @Autowired
   ProductRepository productRepository;
+
+  @Autowired
+  EntityManagerFactory entityManagerFactory;
   
   @Test
   public void testInsert() {
@@ -106,4 +121,65 @@ public class ProductRepositoryTests {
 
   }
 
-}
\ No newline at end of file
+  // 기존 LIKE '%kw%' 쿼리와 메모리 역색인 검색 비교 (10만 개 상품, 테스트 종료 후 롤백)
+  // 기본 테스트에서는 제외 - gradle benchmark --tests '*ProductRepositoryTests' [-Pprofile=h2]
+  @Tag("benchmark")
+  @Transactional
+  @Test
+  public void testKeywordSearchBenchmark() {
+
+    List<Product> products = new ArrayList<>();
+    for (int i = 0; i < 100_000; i++) {
+      products.add(Product.builder()
+      .brand(i % 2 == 0 ? "스타벅스" : "메가커피")
+      .pname("아메리카노 " + i)
+      .price(1000 + i % 10000)
+      .pdesc("기프티콘 상품설명 " + i)
+      .build());
+    }
+    productRepository.saveAll(products);
+    productRepository.flush();
+
+    ProductSearchIndex index = new ProductSearchIndex();
+    products.forEach(p -> index.put(p.getPno(), p.getPname(), p.getBrand(), p.getPdesc()));
+
+    Pageable pageable = PageRequest.of(0, 10, Sort.by("pno").descending());
+
+    for (String keyword : new String[]{"아메리카노", "메가커피", "99999"}) {
+
+      long queryStart = System.currentTimeMillis();
+      long total = productRepository.findByKeyword(keyword, pageable).getTotalElements();
+      long queryMillis = System.currentTimeMillis() - queryStart;
+
+      long indexStart = System.currentTimeMillis();
+      int hits = index.search(keyword).size();
+      long indexMillis = System.currentTimeMillis() - indexStart;
+
+      log.info("keyword: " + keyword + ", like query: " + total + " rows / " + queryMillis + "ms, index: "
+          + hits + " rows / " + indexMillis + "ms");
+    }
+  }
+
+  // 목록 한 페이지는 목록 쿼리 1회 + count 쿼리 1회로 끝나야 함 (이미지 N+1 없음)
+  @Transactional
+  @Test
+  public void testSelectDTOListQueryCount() {
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+
+    Pageable pageable = PageRequest.of(0, 10, Sort.by("pno").descending());
+
+    statistics.clear();
+    Page<ProductDTO> result = productRepository.selectDTOList(pageable);
+    result.getContent().forEach(dto -> log.info(dto.getPno() + " " + dto.getImageUrl() + " " + dto.getImageCount()));
+    log.info("selectDTOList statements: " + statistics.getPrepareStatementCount());
+    assertTrue(statistics.getPrepareStatementCount() <= 2);
+
+    statistics.clear();
+    productRepository.searchDTOList("상품", pageable).getContent();
+    log.info("searchDTOList statements: " + statistics.getPrepareStatementCount());
+    assertTrue(statistics.getPrepareStatementCount() <= 2);
+  }
+
+}
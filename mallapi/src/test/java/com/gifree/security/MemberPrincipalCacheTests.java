@@ -0,0 +1,114 @@
+package com.gifree.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.gifree.domain.Member;
+import com.gifree.domain.MemberRole;
+import com.gifree.dto.MemberDTO;
+import com.gifree.dto.MemberModifyDTO;
+import com.gifree.repository.MemberRepository;
+import com.gifree.service.MemberChangedEvent;
+import com.gifree.service.MemberService;
+import com.gifree.util.JWTUtil;
+
+import lombok.extern.log4j.Log4j2;
+
+@SpringBootTest
+@Log4j2
+public class MemberPrincipalCacheTests {
+
+  @Autowired
+  private MemberPrincipalCache memberPrincipalCache;
+
+  @Autowired
+  private VerifiedTokenCache tokenCache;
+
+  @Autowired
+  private CustomUserDetailsService userDetailsService;
+
+  @Autowired
+  private MemberService memberService;
+
+  @Autowired
+  private MemberRepository memberRepository;
+
+  @Autowired
+  private PasswordEncoder passwordEncoder;
+
+  @Autowired
+  private ApplicationEventPublisher eventPublisher;
+
+  @Autowired
+  private JWTUtil jwtUtil;
+
+  // 두 번째 조회부터 캐시, 회원 정보 수정 / 권한 변경 후에는 바로 새 값
+  @Test
+  public void testCachedPrincipal() {
+
+    String email = "principal1@aaa.com";
+
+    Member member = Member.builder()
+        .email(email)
+        .pw(passwordEncoder.encode("1111"))
+        .nickname("before")
+        .build();
+    member.addRole(MemberRole.USER);
+    memberRepository.save(member);
+    memberPrincipalCache.invalidate(email);
+
+    long misses = memberPrincipalCache.misses();
+    long hits = memberPrincipalCache.hits();
+
+    MemberDTO loaded = (MemberDTO) userDetailsService.loadUserByUsername(email);
+    assertTrue(passwordEncoder.matches("1111", loaded.getPw()));
+    assertEquals(List.of("USER"), loaded.getRoleNames());
+
+    assertEquals("before", memberPrincipalCache.get(email).nickname());
+    assertEquals(misses + 1, memberPrincipalCache.misses());
+    assertEquals(hits + 1, memberPrincipalCache.hits());
+
+    // 회원 정보 수정 - 캐시와 검증된 토큰 모두 비움 (토큰은 1초 전에 발급된 것으로 둠)
+    long issuedAt = System.currentTimeMillis() - 1000;
+    tokenCache.put("principal1-token", loaded, issuedAt, System.currentTimeMillis() + 60_000);
+
+    MemberModifyDTO modifyDTO = new MemberModifyDTO();
+    modifyDTO.setEmail(email);
+    modifyDTO.setPw("2222");
+    modifyDTO.setNickname("after");
+    memberService.modifyMember(modifyDTO);
+
+    assertNull(tokenCache.get("principal1-token"));
+    // 변경 전에 발급된 토큰은 다시 검증해도 거부
+    assertTrue(tokenCache.isRevoked(email, issuedAt));
+    // 변경 직후 다시 로그인해 받은 토큰은 같은 초여도 통과
+    String relogin = jwtUtil.generateToken(((MemberDTO) userDetailsService.loadUserByUsername(email)).getTokenClaims(), 10);
+    assertFalse(tokenCache.isRevoked(email, JWTUtil.issuedAtMillis(jwtUtil.validateToken(relogin))));
+    assertEquals("after", memberPrincipalCache.get(email).nickname());
+    assertTrue(passwordEncoder.matches("2222", ((MemberDTO) userDetailsService.loadUserByUsername(email)).getPw()));
+
+    // 권한 변경
+    assertFalse(memberPrincipalCache.get(email).hasRole(MemberRole.ADMIN));
+
+    Member saved = memberRepository.getWithRoles(email);
+    saved.addRole(MemberRole.ADMIN);
+    memberRepository.save(saved);
+    eventPublisher.publishEvent(new MemberChangedEvent(email));
+
+    assertTrue(memberPrincipalCache.get(email).hasRole(MemberRole.ADMIN));
+
+    assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("nobody@aaa.com"));
+  }
+}
@@ -0,0 +1,104 @@
+package com.gifree.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import lombok.extern.log4j.Log4j2;
+
+@Log4j2
+public class PublicRoutesTests {
+
+  PublicRoutes publicRoutes = new PublicRoutes();
+
+  // 변경 전 JWTCheckFilter.shouldNotFilter 의 startsWith / 정규식 판단과 같은 결과인지
+  @Test
+  public void testSameAsLegacyChecks() {
+
+    List<String> paths = List.of(
+        "/api/products/", "/api/products/list", "/api/products/view/s_a.jpg", "/api/products", "/api/products2",
+        "/api/events/", "/api/events/3", "/api/events/3/toggle", "/api/events",
+        "/api/donationBoard/list", "/api/donationBoard/recent", "/api/donationBoard/category",
+        "/api/donationBoard/12", "/api/donationBoard/12/files", "/api/donationBoard/", "/api/donationBoard/abc",
+        "/api/member/signup", "/api/member/login", "/api/member/login/", "/api/member/modify", "/api/member/refresh",
+        "/api/order", "/api/order/list", "/api/bootpay", "/api/cart/items", "/", "");
+
+    for (String path : paths) {
+      assertEquals(legacyShouldNotFilter(path), publicRoutes.matches(path), path);
+    }
+
+    MockHttpServletRequest preflight = new MockHttpServletRequest("OPTIONS", "/api/cart/items");
+    assertTrue(publicRoutes.matches(preflight));
+    assertFalse(publicRoutes.matches(new MockHttpServletRequest("GET", "/api/cart/items")));
+  }
+
+  @Test
+  public void testPatterns() {
+
+    PublicRoutes routes = new PublicRoutes(List.of("/api/a/*/b", "/api/c/{number}/**"));
+
+    assertTrue(routes.matches("/api/a/x/b"));
+    assertFalse(routes.matches("/api/a/x/y/b"));
+    assertTrue(routes.matches("/api/c/1/d/e"));
+    assertFalse(routes.matches("/api/c/1"));
+    assertFalse(routes.matches("/api/c/x/d"));
+
+    assertThrows(IllegalArgumentException.class, () -> new PublicRoutes(List.of("/api/**/a")));
+  }
+
+  // 세그먼트 트리와 변경 전 판단의 매칭 수가 같은지 확인하고 초당 처리 수를 기록
+  // (실행 시간 비교는 머신 부하에 따라 달라지므로 단언하지 않고 로그로만 남김)
+  @Test
+  public void testThroughput() {
+
+    List<String> paths = List.of("/api/cart/items", "/api/donationBoard/12", "/api/products/list", "/api/member/modify");
+
+    // 워밍업
+    measure(paths, false, 300);
+    measure(paths, true, 300);
+
+    double legacy = measure(paths, false, 1000);
+    double trie = measure(paths, true, 1000);
+
+    log.info(String.format("route checks/sec - legacy: %.0f, trie: %.0f (x%.2f)", legacy, trie, trie / legacy));
+  }
+
+  private double measure(List<String> paths, boolean trie, long millis) {
+    long count = 0;
+    long matched = 0;
+    long start = System.nanoTime();
+    long end = start + millis * 1_000_000;
+    long now;
+    do {
+      for (String path : paths) {
+        if (trie ? publicRoutes.matches(path) : legacyShouldNotFilter(path)) matched++;
+        count++;
+      }
+      now = System.nanoTime();
+    } while (now < end);
+    assertEquals(count / paths.size() * 2, matched);
+    return count * 1_000_000_000.0 / (now - start);
+  }
+
+  // 변경 전 JWTCheckFilter.shouldNotFilter (OPTIONS 제외)
+  private static boolean legacyShouldNotFilter(String path) {
+    if (path.startsWith("/api/products/view/")) return true;
+    if (path.startsWith("/api/events/")) return true;
+    if (path.startsWith("/api/products/")) return true;
+    if (path.startsWith("/api/donationBoard/list")) return true;
+    if (path.startsWith("/api/donationBoard/recent")) return true;
+    if (path.startsWith("/api/donationBoard/category")) return true;
+    if (path.startsWith("/api/donationBoard/") && path.matches("/api/donationBoard/\\d+")) return true;
+    if ("/api/member/signup".equals(path)) return true;
+    if ("/api/member/login".equals(path)) return true;
+    if ("/api/order".equals(path)) return true;
+    if ("/api/bootpay".equals(path)) return true;
+    return false;
+  }
+}
@@ -0,0 +1,217 @@
+package com.gifree.security.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.gifree.dto.MemberDTO;
+import com.gifree.security.PublicRoutes;
+import com.gifree.security.VerifiedTokenCache;
+import com.gifree.util.JWTUtil;
+
+import lombok.extern.log4j.Log4j2;
+
+@Log4j2
+public class JWTCheckFilterTests {
+
+  static final String SECRET = "1234567890123456789012345678901234567890";
+
+  JWTUtil jwtUtil = new JWTUtil("k1", SECRET, SECRET, "");
+
+  @AfterEach
+  public void clearContext() {
+    SecurityContextHolder.clearContext();
+  }
+
+  // 같은 토큰의 두 번째 요청부터는 캐시된 인증 정보를 쓰고, 회원 단위 revoke 후에는 그 전에 발급된 토큰을 거부
+  @Test
+  public void testCachedPrincipal() throws Exception {
+
+    VerifiedTokenCache tokenCache = new VerifiedTokenCache(100, 100);
+    JWTCheckFilter filter = new JWTCheckFilter(jwtUtil, tokenCache, new PublicRoutes());
+
+    String token = tokenOf("user1@aaa.com");
+
+    MemberDTO first = authenticate(filter, token);
+    MemberDTO second = authenticate(filter, token);
+
+    assertEquals("user1@aaa.com", first.getEmail());
+    assertSame(first, second);
+    assertEquals(1, tokenCache.stats().hits());
+    assertEquals(1, tokenCache.stats().misses());
+
+    tokenCache.revokeMember("user1@aaa.com");
+    assertEquals(0, tokenCache.size());
+    assertEquals(1, tokenCache.stats().revocations());
+
+    // 서명은 유효해도 회수 전에 발급된 토큰은 401, 다시 캐시되지도 않음
+    assertEquals(401, statusOf(filter, token));
+    assertEquals(0, tokenCache.size());
+
+    // 회수 뒤에 새로 발급한 토큰은 통과
+    String reissued = tokenOf("user1@aaa.com");
+    MemberDTO third = authenticate(filter, reissued);
+    assertEquals("user1@aaa.com", third.getEmail());
+    assertTrue(first != third);
+
+    // 잘못된 토큰은 캐시되지 않고 401
+    assertEquals(401, statusOf(filter, reissued + "x"));
+    assertEquals(1, tokenCache.size());
+  }
+
+  // 회수와 같은 초에 다시 로그인해 받은 토큰은 통과하고, 그 직전에 발급된 토큰은 거부 (발급 시각을 ms 로 비교)
+  @Test
+  public void testReissueInSameSecond() throws Exception {
+
+    VerifiedTokenCache tokenCache = new VerifiedTokenCache(100, 100);
+    JWTCheckFilter filter = new JWTCheckFilter(jwtUtil, tokenCache, new PublicRoutes());
+
+    // 초가 바뀌기 전에 발급 -> 회수 -> 재발급이 끝나도록 초의 앞부분에서 시작
+    while (System.currentTimeMillis() % 1000 > 200) {
+      Thread.sleep(10);
+    }
+
+    String before = tokenOf("user1@aaa.com");
+    Thread.sleep(5);
+    tokenCache.revokeMember("user1@aaa.com");
+    Thread.sleep(5);
+    String reissued = tokenOf("user1@aaa.com");
+
+    long beforeIat = ((Number) jwtUtil.validateToken(before).get("iat")).longValue();
+    long reissuedIat = ((Number) jwtUtil.validateToken(reissued).get("iat")).longValue();
+    assertEquals(beforeIat, reissuedIat);
+
+    assertEquals(401, statusOf(filter, before));
+    assertEquals(200, statusOf(filter, reissued));
+    assertEquals("user1@aaa.com", authenticate(filter, reissued).getEmail());
+  }
+
+  // exp 가 지난 항목은 돌려주지 않고, 최대 개수를 넘으면 오래된 항목부터 밀려남
+  @Test
+  public void testExpiryAndSizeLimit() throws Exception {
+
+    VerifiedTokenCache tokenCache = new VerifiedTokenCache(2, 100);
+    MemberDTO member = new MemberDTO("user1@aaa.com", "", "user1", false, List.of("USER"));
+
+    long issuedAt = System.currentTimeMillis();
+    tokenCache.put("a", member, issuedAt, System.currentTimeMillis() + 50);
+    Thread.sleep(100);
+    assertNull(tokenCache.get("a"));
+
+    long expiresAt = System.currentTimeMillis() + 60_000;
+    tokenCache.put("b", member, issuedAt, expiresAt);
+    tokenCache.put("c", member, issuedAt, expiresAt);
+    tokenCache.put("d", member, issuedAt, expiresAt);
+
+    assertEquals(2, tokenCache.size());
+    assertNull(tokenCache.get("b"));
+    assertSame(member, tokenCache.get("d"));
+    assertEquals(2, tokenCache.stats().evictions());
+  }
+
+  // 매번 검증하는 경우와 캐시를 쓰는 경우 모두 같은 회원으로 인증되는지 확인하고 초당 필터 처리 수를 기록
+  // (실행 시간 비교는 머신 부하에 따라 달라지므로 단언하지 않고 로그로만 남김)
+  @Test
+  public void testFilterThroughput() throws Exception {
+
+    VerifiedTokenCache tokenCache = new VerifiedTokenCache(100, 100);
+    JWTCheckFilter filter = new JWTCheckFilter(jwtUtil, tokenCache, new PublicRoutes());
+    String token = tokenOf("user1@aaa.com");
+
+    tokenCache.clear();
+    assertEquals("user1@aaa.com", authenticate(filter, token).getEmail());
+    assertEquals("user1@aaa.com", authenticate(filter, token).getEmail());
+
+    // 워밍업
+    measure(filter, token, tokenCache, true, 2000);
+    measure(filter, token, tokenCache, false, 2000);
+
+    double uncached = measure(filter, token, tokenCache, true, 5000);
+    double cached = measure(filter, token, tokenCache, false, 5000);
+
+    log.info(String.format("filter requests/sec - verify every time: %.0f, cached: %.0f (x%.2f)",
+        uncached, cached, cached / uncached));
+  }
+
+  // 짧은 claims 토큰과 예전 형식(email, pw 해시, roleNames) 토큰 모두 같은 MemberDTO 로 펼쳐지는지, 헤더 크기와 검증 시간 비교
+  @Test
+  public void testCompactToken() throws Exception {
+
+    VerifiedTokenCache tokenCache = new VerifiedTokenCache(100, 100);
+    JWTCheckFilter filter = new JWTCheckFilter(jwtUtil, tokenCache, new PublicRoutes());
+
+    MemberDTO member = new MemberDTO("user1@aaa.com", "$2a$10$abcdefghijabcdefghijabcdefghijabcdefghijabcdefghijab",
+        "user1", false, List.of("USER", "ADMIN"));
+
+    String compact = jwtUtil.generateToken(member.getTokenClaims(), 10);
+    String legacy = jwtUtil.generateToken(member.getClaims(), 10);
+
+    for (String token : List.of(compact, legacy)) {
+      tokenCache.clear();
+      MemberDTO expanded = authenticate(filter, token);
+
+      assertEquals("user1@aaa.com", expanded.getEmail());
+      assertEquals("user1", expanded.getNickname());
+      assertEquals(List.of("USER", "ADMIN"), expanded.getRoleNames());
+      assertEquals("", expanded.getPw());
+      assertTrue(SecurityContextHolder.getContext().getAuthentication().getAuthorities().stream()
+          .anyMatch(authority -> authority.getAuthority().equals("ROLE_ADMIN")));
+    }
+
+    // 워밍업
+    measure(filter, legacy, tokenCache, true, 2000);
+    measure(filter, compact, tokenCache, true, 2000);
+
+    double legacyRate = measure(filter, legacy, tokenCache, true, 5000);
+    double compactRate = measure(filter, compact, tokenCache, true, 5000);
+
+    log.info(String.format("Authorization header bytes - legacy: %d, compact: %d / filter us per request - legacy: %.1f, compact: %.1f",
+        ("Bearer " + legacy).length(), ("Bearer " + compact).length(), 1_000_000 / legacyRate, 1_000_000 / compactRate));
+
+    assertTrue(compact.length() < legacy.length());
+  }
+
+  private double measure(JWTCheckFilter filter, String token, VerifiedTokenCache tokenCache,
+      boolean clearEachTime, int count) throws Exception {
+    long start = System.nanoTime();
+    for (int i = 0; i < count; i++) {
+      if (clearEachTime) tokenCache.clear();
+      filter.doFilter(requestWith(token), new MockHttpServletResponse(), new MockFilterChain());
+    }
+    return count * 1_000_000_000.0 / (System.nanoTime() - start);
+  }
+
+  private int statusOf(JWTCheckFilter filter, String token) throws Exception {
+    SecurityContextHolder.clearContext();
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    filter.doFilter(requestWith(token), response, new MockFilterChain());
+    return response.getStatus();
+  }
+
+  private MemberDTO authenticate(JWTCheckFilter filter, String token) throws Exception {
+    SecurityContextHolder.clearContext();
+    filter.doFilter(requestWith(token), new MockHttpServletResponse(), new MockFilterChain());
+    return (MemberDTO) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+  }
+
+  private String tokenOf(String email) {
+    MemberDTO member = new MemberDTO(email, "", "user1", false, List.of("USER"));
+    return jwtUtil.generateToken(member.getClaims(), 10);
+  }
+
+  private static MockHttpServletRequest requestWith(String token) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/cart/items");
+    request.addHeader("Authorization", "Bearer " + token);
+    return request;
+  }
+}
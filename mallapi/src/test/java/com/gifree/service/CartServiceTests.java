@@ -0,0 +1,246 @@
+package com.gifree.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.gifree.domain.Cart;
+import com.gifree.domain.CartItem;
+import com.gifree.domain.Member;
+import com.gifree.domain.Product;
+import com.gifree.dto.CartItemDTO;
+import com.gifree.dto.CartItemListDTO;
+import com.gifree.dto.ProductDTO;
+import com.gifree.repository.CartItemRepository;
+import com.gifree.repository.CartRepository;
+import com.gifree.repository.MemberRepository;
+import com.gifree.repository.ProductRepository;
+import com.gifree.util.InvalidCartChangeException;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.log4j.Log4j2;
+
+@SpringBootTest
+@Log4j2
+public class CartServiceTests {
+
+  @Autowired
+  CartService cartService;
+
+  @Autowired
+  ProductService productService;
+
+  @Autowired
+  CartItemRepository cartItemRepository;
+
+  @Autowired
+  CartRepository cartRepository;
+
+  @Autowired
+  DonationProductResolver donationProductResolver;
+
+  @Autowired
+  MemberRepository memberRepository;
+
+  @Autowired
+  ProductRepository productRepository;
+
+  @Autowired
+  EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  CartCache cartCache;
+
+  @Autowired
+  PlatformTransactionManager transactionManager;
+
+  // 장바구니 변경은 캐시에 바로 반영되어 다시 조회해도 SQL 이 없고, 담긴 상품이 바뀌면 다시 DB에서 읽음
+  @Test
+  public void testCartCache() {
+
+    String email = saveMember();
+
+    Long pno1 = saveProduct("장바구니테스트1", 1000);
+    Long pno2 = saveProduct("장바구니테스트2", 2000);
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+
+    cartService.addOrModify(item(email, pno1, null, 1));
+    List<CartItemListDTO> items = cartService.addOrModify(item(email, pno2, null, 2));
+    assertEquals(2, items.size());
+    assertEquals(pno2, items.get(0).getPno());
+
+    statistics.clear();
+    assertEquals(2, cartService.getCartItems(email).size());
+    assertEquals(2, cartService.getCartCount(email));
+    assertEquals(0, statistics.getPrepareStatementCount());
+
+    // 수량 변경
+    Long cino = items.get(0).getCino();
+    cartService.addOrModify(item(email, pno2, cino, 5));
+    assertSameAsDB(email);
+    assertEquals(5, cartService.getCartItems(email).get(0).getQty());
+
+    // 담긴 상품 가격이 바뀌면 캐시를 버리고 새 가격으로 조회
+    ProductDTO product = productService.get(pno1);
+    product.setPrice(1500);
+    productService.modify(product);
+
+    statistics.clear();
+    List<CartItemListDTO> changed = cartService.getCartItems(email);
+    log.info("statements after product change: " + statistics.getPrepareStatementCount());
+    assertEquals(1500, changed.stream().filter(dto -> dto.getPno().equals(pno1)).findFirst().orElseThrow().getPrice());
+
+    // 상품 번호로 삭제
+    cartService.removeByPno(email, pno1);
+    assertSameAsDB(email);
+    assertEquals(1, cartService.getCartCount(email));
+
+    // 아이템 번호로 삭제
+    cartService.remove(cino);
+    assertSameAsDB(email);
+    assertEquals(0, cartService.getCartCount(email));
+  }
+
+  // 일괄 변경은 상품 수와 관계없이 SQL 수가 (시퀀스 할당을 제외하면) 일정하고, 최종 목록을 한 번에 반환
+  @Test
+  public void testBulkChange() {
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+
+    long small = bulkChange(statistics, 5);
+    long large = bulkChange(statistics, 50);
+
+    log.info("bulk statements - 5 items: " + small + ", 50 items: " + large);
+
+    assertTrue(large - small <= 2);
+  }
+
+  private long bulkChange(Statistics statistics, int itemCount) {
+
+    String email = saveMember();
+
+    List<CartItemDTO> adds = new ArrayList<>();
+    for (int i = 0; i < itemCount; i++) {
+      adds.add(item(null, saveProduct("일괄담기" + i, 1000), null, 1));
+    }
+
+    statistics.clear();
+    List<CartItemListDTO> added = cartService.changeAll(email, adds);
+    long statements = statistics.getPrepareStatementCount();
+
+    assertEquals(itemCount, cartService.getCartCount(email));
+    assertEquals(cartItemRepository.getItemsOfCartDTOByEmail(email), added);
+
+    // 절반은 수량 변경, 절반은 삭제
+    List<CartItemDTO> changes = new ArrayList<>();
+    for (int i = 0; i < itemCount; i++) {
+      changes.add(item(null, adds.get(i).getPno(), null, i % 2 == 0 ? 3 : 0));
+    }
+
+    statistics.clear();
+    List<CartItemListDTO> changed = cartService.changeAll(email, changes);
+    statements += statistics.getPrepareStatementCount();
+
+    assertEquals((itemCount + 1) / 2, cartService.getCartCount(email));
+    assertTrue(changed.stream().allMatch(dto -> dto.getQty() == 3));
+    assertSameAsDB(email);
+
+    return statements;
+  }
+
+  // 같은 회원의 장바구니를 동시에 바꾼 두 요청은 서로의 변경이 빠진 목록을 들고 있으므로 어느 쪽도 캐시에 남기지 않음
+  @Test
+  public void testConcurrentChanges() throws Exception {
+
+    String email = saveMember();
+    Long pno = saveProduct("장바구니동시변경", 1000);
+    cartService.addOrModify(item(email, pno, null, 1));
+
+    List<CartItemListDTO> before = cartService.getCartItems(email);
+    CartItemListDTO row = before.get(0);
+    List<CartItemListDTO> changedByFirst = List.of(new CartItemListDTO(row.getCino(), 2, row.getPno(), row.getPname(),
+        row.getPrice(), row.getSalePrice(), row.getDiscountRate(), row.getImageFile()));
+
+    // 두 요청 모두 같은 시점의 목록을 읽음
+    long generation = cartCache.generation(email);
+
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+      cartCache.putAfterCommit(email, changedByFirst, generation);
+
+      // 첫 번째 요청이 커밋되기 전에 두 번째 요청이 자기 변경만 반영한 목록으로 먼저 끝남
+      Thread second = new Thread(() -> cartCache.putAfterCommit(email, before, generation));
+      second.start();
+      try {
+        second.join();
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+      assertNull(cartCache.get(email));
+    });
+
+    assertNull(cartCache.get(email));
+
+    // 변경이 하나뿐이면 커밋 후 바로 캐시
+    long next = cartCache.generation(email);
+    new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+        cartCache.putAfterCommit(email, changedByFirst, next));
+    assertEquals(changedByFirst, cartCache.get(email).items());
+  }
+
+  // 기부 상품은 담을 수 없고, 예전에 담긴 기부 상품은 한 번의 DELETE 로 정리
+  @Test
+  public void testDonationItemBlocked() {
+
+    String email = saveMember();
+    Long donationPno = donationProductResolver.getOrCreate().getPno();
+
+    assertThrows(InvalidCartChangeException.class, () -> cartService.addOrModify(item(email, donationPno, null, 1)));
+
+    Cart cart = cartRepository.save(Cart.builder().owner(Member.builder().email(email).build()).build());
+    cartItemRepository.save(CartItem.builder().cart(cart).product(Product.builder().pno(donationPno).build()).qty(1).build());
+
+    assertTrue(cartItemRepository.deleteDonationItems() >= 1);
+    assertTrue(cartItemRepository.getAllItemsOfPno(email, donationPno).isEmpty());
+  }
+
+  private String saveMember() {
+    String email = "cart-" + UUID.randomUUID() + "@aaa.com";
+    memberRepository.save(Member.builder().email(email).pw("1111").nickname("cart").build());
+    return email;
+  }
+
+  private void assertSameAsDB(String email) {
+    assertEquals(cartItemRepository.getItemsOfCartDTOByEmail(email), cartService.getCartItems(email));
+  }
+
+  private Long saveProduct(String pname, int price) {
+    Product product = Product.builder().pname(pname).brand("테스트").price(price).pdesc("장바구니 테스트").build();
+    product.addImageString(pname + ".jpg");
+    return productRepository.save(product).getPno();
+  }
+
+  private CartItemDTO item(String email, Long pno, Long cino, int qty) {
+    CartItemDTO dto = new CartItemDTO();
+    dto.setEmail(email);
+    dto.setPno(pno);
+    dto.setCino(cino);
+    dto.setQty(qty);
+    return dto;
+  }
+}
@@ -0,0 +1,411 @@
+package com.gifree.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.gifree.domain.Order;
+import com.gifree.domain.OrderItem;
+import com.gifree.domain.Product;
+import com.gifree.dto.OrderRequestDTO;
+import com.gifree.dto.OrderResponseDTO;
+import com.gifree.dto.PageRequestDTO;
+import com.gifree.dto.PageResponseDTO;
+import com.gifree.domain.OrderOutbox;
+import com.gifree.repository.CollectionRepository;
+import com.gifree.repository.OrderOutboxRepository;
+import com.gifree.repository.OrderRepository;
+import com.gifree.repository.PurchaseLedgerRepository;
+import com.gifree.repository.ProductRepository;
+import com.gifree.repository.RandomBoxChanceRepository;
+import com.gifree.util.ProductSoldOutException;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.log4j.Log4j2;
+
+@SpringBootTest
+@Log4j2
+public class OrderServiceTests {
+
+  @Autowired
+  OrderService orderService;
+
+  @Autowired
+  ProductRepository productRepository;
+
+  @Autowired
+  PurchaseLedgerService purchaseLedgerService;
+
+  @Autowired
+  OrderRepository orderRepository;
+
+  @Autowired
+  DonationProductResolver donationProductResolver;
+
+  @Autowired
+  OrderOutboxService orderOutboxService;
+
+  @Autowired
+  OrderOutboxRepository orderOutboxRepository;
+
+  @Autowired
+  CollectionService collectionService;
+
+  @Autowired
+  EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  EntityManager entityManager;
+
+  @Autowired
+  PurchaseLedgerRepository purchaseLedgerRepository;
+
+  @Autowired
+  PlatformTransactionManager transactionManager;
+
+  @Autowired
+  CollectionRepository collectionRepository;
+
+  @Autowired
+  RandomBoxChanceRepository randomBoxChanceRepository;
+
+  // 주문 상품 수와 관계없이 실행되는 SQL 수가 (시퀀스 할당을 제외하면) 일정해야 함
+  @Transactional
+  @Test
+  public void testPlaceOrderStatementCount() {
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+
+    long small = placeOrder(statistics, 5);
+    long large = placeOrder(statistics, 50);
+
+    log.info("statements - 5 items: " + small + ", 50 items: " + large);
+
+    assertTrue(large - small <= 2);
+  }
+
+  // 같은 상품을 64개 스레드가 동시에 주문하면 정확히 한 주문만 성공하고 나머지는 ProductSoldOutException
+  // 기본 테스트에서는 제외 - gradle benchmark --tests '*OrderServiceTests' [-Pprofile=h2], 커밋된 주문/상품은 끝나면 삭제
+  @Tag("benchmark")
+  @Test
+  public void testConcurrentOrderOneWinner() throws Exception {
+
+    Product product = Product.builder()
+        .pname("동시주문테스트")
+        .brand("테스트")
+        .price(1000)
+        .pdesc("동시 주문 테스트 상품")
+        .build();
+    Long pno = productRepository.save(product).getPno();
+
+    String run = "concurrent-" + System.nanoTime();
+    int threads = 64;
+    List<String> memberIds = new ArrayList<>();
+    for (int i = 0; i < threads; i++) {
+      memberIds.add(run + "-" + i + "@aaa.com");
+    }
+
+    try {
+      orderOneProduct(pno, memberIds);
+    } finally {
+      memberIds.forEach(this::deleteCommittedOrders);
+      productRepository.deleteById(pno);
+    }
+  }
+
+  private void orderOneProduct(Long pno, List<String> memberIds) throws Exception {
+
+    int threads = memberIds.size();
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+
+    AtomicInteger success = new AtomicInteger();
+    AtomicInteger soldOut = new AtomicInteger();
+    AtomicInteger failed = new AtomicInteger();
+
+    List<Future<?>> futures = new ArrayList<>();
+    for (String memberId : memberIds) {
+      futures.add(executor.submit(() -> {
+        start.await();
+        try {
+          orderService.placeOrder(OrderRequestDTO.builder()
+              .memberId(memberId)
+              .items(List.of(OrderRequestDTO.Item.builder().pno(pno).qty(1).build()))
+              .build());
+          success.incrementAndGet();
+        } catch (ProductSoldOutException e) {
+          soldOut.incrementAndGet();
+        } catch (Exception e) {
+          log.error("unexpected order failure", e);
+          failed.incrementAndGet();
+        }
+        return null;
+      }));
+    }
+
+    start.countDown();
+    for (Future<?> future : futures) {
+      future.get(60, TimeUnit.SECONDS);
+    }
+    executor.shutdown();
+
+    log.info("success: " + success.get() + ", sold out: " + soldOut.get() + ", failed: " + failed.get());
+
+    assertEquals(1, success.get());
+    assertEquals(threads - 1, soldOut.get());
+    assertTrue(productRepository.findById(pno).orElseThrow().isDelFlag());
+  }
+
+  // 주문하면 구매 원장이 주문 금액만큼 늘고, 그 회원의 대사 결과 주문 테이블 합계와 일치해야 함 (테스트 종료 시 롤백)
+  @Transactional
+  @Test
+  public void testPurchaseLedger() {
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+    long before = purchaseLedgerService.getTotal("order-test@aaa.com");
+
+    placeOrder(statistics, 3);
+
+    long after = purchaseLedgerService.getTotal("order-test@aaa.com");
+
+    log.info("ledger before: " + before + ", after: " + after);
+
+    assertEquals(before + 3 * 1000, after);
+    assertEquals(0, purchaseLedgerService.reconcile("order-test@aaa.com"));
+  }
+
+  // 원장이 없는 회원의 첫 주문 두 건이 동시에 들어와도 둘 다 성공하고 금액이 모두 누적되어야 함 (조회는 원장을 만들지 않음)
+  @Test
+  public void testConcurrentFirstOrders() throws Exception {
+
+    String email = "ledger-" + System.nanoTime() + "@aaa.com";
+
+    try {
+      firstOrders(email);
+    } finally {
+      // 커밋된 주문과 원장은 직접 정리
+      orderRepository.deleteAll(orderRepository.findByMemberEmailOrderByOrderedAtDesc(email));
+      purchaseLedgerRepository.deleteById(email);
+    }
+  }
+
+  private void firstOrders(String email) throws Exception {
+
+    assertEquals(0, purchaseLedgerService.getTotal(email));
+    assertTrue(purchaseLedgerRepository.findById(email).isEmpty());
+
+    TransactionTemplate template = new TransactionTemplate(transactionManager);
+    CountDownLatch recorded = new CountDownLatch(1);
+    CountDownLatch commit = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    // 첫 번째 주문은 원장을 만들고 커밋 전에 멈춤
+    Future<?> first = executor.submit(() -> template.executeWithoutResult(status -> {
+      saveOrder(email, 1000);
+      purchaseLedgerService.record(email, 1000);
+      recorded.countDown();
+      try {
+        commit.await(10, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }));
+    assertTrue(recorded.await(10, TimeUnit.SECONDS));
+
+    // 두 번째 주문도 원장이 없는 상태에서 시작 - 첫 번째가 커밋되면 금액만 더함
+    Future<?> second = executor.submit(() -> template.executeWithoutResult(status -> {
+      saveOrder(email, 500);
+      purchaseLedgerService.record(email, 500);
+    }));
+    Thread.sleep(200);
+    commit.countDown();
+
+    first.get(10, TimeUnit.SECONDS);
+    second.get(10, TimeUnit.SECONDS);
+    executor.shutdown();
+
+    assertEquals(1500, purchaseLedgerService.getTotal(email));
+    assertEquals(0, purchaseLedgerService.reconcile(email));
+
+    // 어긋난 원장은 그 회원만 대사해도 교정됨
+    template.executeWithoutResult(status ->
+        purchaseLedgerRepository.correctAmount(email, 1500, 1, LocalDateTime.now()));
+    assertEquals(1, purchaseLedgerService.reconcile(email));
+    assertEquals(1500, purchaseLedgerService.getTotal(email));
+  }
+
+  // 커밋된 주문과 그 후속 작업(보관함, 랜덤박스 기회, 구매 원장)을 삭제 - 후속 작업이 끝난 뒤에 지움
+  private void deleteCommittedOrders(String email) {
+    List<Order> orders = orderRepository.findByMemberEmailOrderByOrderedAtDesc(email);
+    if (orders.isEmpty()) return;
+
+    List<Long> onos = orders.stream().map(Order::getOno).toList();
+    long deadline = System.currentTimeMillis() + 30_000;
+    List<OrderOutbox> jobs;
+    while (true) {
+      jobs = orderOutboxRepository.findAll().stream().filter(job -> onos.contains(job.getOno())).toList();
+      if (jobs.stream().noneMatch(job -> job.getStatus() == OrderOutbox.Status.PENDING)
+          || System.currentTimeMillis() > deadline) break;
+      try {
+        Thread.sleep(100);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+
+    orderOutboxRepository.deleteAll(jobs);
+    collectionRepository.deleteAll(collectionRepository.findByMemberEmailOrderByAddedAtDesc(email));
+    randomBoxChanceRepository.findByMemberEmail(email).ifPresent(randomBoxChanceRepository::delete);
+    orderRepository.deleteAll(orders);
+    purchaseLedgerRepository.deleteById(email);
+  }
+
+  private void saveOrder(String email, int price) {
+    Order order = Order.builder().memberEmail(email).orderedAt(LocalDateTime.now()).build();
+    order.addItem(OrderItem.builder().pno(Long.MAX_VALUE).pname("원장테스트").qty(1).price(price).build());
+    orderRepository.save(order);
+  }
+
+  // 주문 수와 관계없이 구매내역 조회 SQL 수가 일정해야 함 (주문+아이템 1회, 빠진 상품 정보 1회)
+  @Transactional
+  @Test
+  public void testOrderHistoryQueryCount() {
+
+    String email = "history-test@aaa.com";
+
+    Product product = Product.builder().pname("내역테스트").brand("테스트").price(2000).pdesc("구매내역 테스트").build();
+    product.addImageString("HISTORY.jpg");
+    productRepository.save(product);
+
+    for (int i = 0; i < 30; i++) {
+      Order order = Order.builder().memberEmail(email).orderedAt(LocalDateTime.now().minusMinutes(i)).build();
+      for (int j = 0; j < 3; j++) {
+        // 이미지가 비어 있는 아이템은 상품 정보로 채워야 함
+        order.addItem(OrderItem.builder().pno(product.getPno()).pname("내역테스트").qty(1).price(2000).build());
+      }
+      orderRepository.save(order);
+    }
+
+    entityManager.flush();
+    entityManager.clear();
+
+    // 기부 상품 번호는 한 번 조회 후 캐시되므로 미리 채워둠
+    donationProductResolver.getPno();
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+
+    statistics.clear();
+    List<OrderResponseDTO> history = orderService.getOrderHistoryByEmail(email);
+    long listStatements = statistics.getPrepareStatementCount();
+
+    entityManager.clear();
+    statistics.clear();
+    PageResponseDTO<OrderResponseDTO> page = orderService.getOrderHistoryPage(email,
+        PageRequestDTO.builder().page(2).size(10).build());
+    long pageStatements = statistics.getPrepareStatementCount();
+
+    log.info("history orders: " + history.size() + ", statements: " + listStatements
+        + " / page orders: " + page.getDtoList().size() + ", statements: " + pageStatements);
+
+    assertEquals(30, history.size());
+    assertEquals("HISTORY.jpg", history.get(0).getOrderItems().get(0).getImageFile());
+    assertTrue(listStatements <= 2);
+
+    assertEquals(10, page.getDtoList().size());
+    assertEquals(30, page.getTotalCount());
+    assertTrue(pageStatements <= 4);
+  }
+
+  // 주문은 후속 작업을 대기열에만 쌓고, 커밋 후 워커가 보관함 추가를 처리 (완료된 작업은 다시 임대되지 않음)
+  @Test
+  public void testOrderOutbox() throws Exception {
+
+    String email = "outbox-test@aaa.com";
+
+    Product product = Product.builder().pname("대기열테스트").brand("테스트").price(12000).pdesc("후속 작업 테스트").build();
+    Long pno = productRepository.save(product).getPno();
+
+    Long ono = orderService.placeOrder(OrderRequestDTO.builder()
+        .memberId(email)
+        .items(List.of(OrderRequestDTO.Item.builder().pno(pno).qty(1).build()))
+        .build()).getOno();
+
+    List<OrderOutbox> jobs = orderOutboxRepository.findAll().stream()
+        .filter(job -> job.getOno().equals(ono))
+        .toList();
+    assertEquals(2, jobs.size());
+
+    long deadline = System.currentTimeMillis() + 30_000;
+    while (System.currentTimeMillis() < deadline
+        && jobs.stream().anyMatch(job -> orderOutboxRepository.findById(job.getId()).orElseThrow()
+            .getStatus() != OrderOutbox.Status.DONE)) {
+      Thread.sleep(100);
+    }
+
+    for (OrderOutbox job : jobs) {
+      assertEquals(OrderOutbox.Status.DONE, orderOutboxRepository.findById(job.getId()).orElseThrow().getStatus());
+      assertNull(orderOutboxService.claim(job.getId()));
+    }
+
+    assertEquals(1, collectionService.getCollectionByEmail(email).stream()
+        .filter(collection -> collection.getPno().equals(pno))
+        .count());
+  }
+
+  private long placeOrder(Statistics statistics, int itemCount) {
+
+    List<OrderRequestDTO.Item> items = new ArrayList<>();
+
+    for (int i = 0; i < itemCount; i++) {
+      Product product = Product.builder()
+          .pname("주문테스트" + i)
+          .brand("테스트")
+          .price(1000)
+          .pdesc("주문 테스트 상품")
+          .build();
+      product.addImageString("ORDER" + i + ".jpg");
+      productRepository.save(product);
+
+      items.add(OrderRequestDTO.Item.builder().pno(product.getPno()).qty(1).build());
+    }
+
+    entityManager.flush();
+    entityManager.clear();
+
+    OrderRequestDTO req = OrderRequestDTO.builder()
+        .memberId("order-test@aaa.com")
+        .items(items)
+        .build();
+
+    statistics.clear();
+    orderService.placeOrder(req);
+    entityManager.flush();
+
+    return statistics.getPrepareStatementCount();
+  }
+}
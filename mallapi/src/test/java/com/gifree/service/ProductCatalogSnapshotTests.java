@@ -0,0 +1,61 @@
+package com.gifree.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.gifree.domain.Product;
+import com.gifree.dto.ProductDTO;
+import com.gifree.repository.ProductRepository;
+
+import lombok.extern.log4j.Log4j2;
+
+@SpringBootTest
+@Log4j2
+public class ProductCatalogSnapshotTests {
+
+  @Autowired
+  ProductCatalogSnapshot catalogSnapshot;
+
+  @Autowired
+  ProductRepository productRepository;
+
+  @Autowired
+  ApplicationEventPublisher eventPublisher;
+
+  // 스냅샷이 돌려준 DTO 를 호출하는 쪽에서 바꿔도 스냅샷(다른 요청이 보는 목록)은 그대로
+  @Test
+  public void testReturnedCopies() {
+
+    Product product = Product.builder().pname("스냅샷테스트").brand("테스트").price(3000).pdesc("복사본 테스트").build();
+    product.addImageString("SNAPSHOT.jpg");
+    Long pno = productRepository.save(product).getPno();
+
+    try {
+      eventPublisher.publishEvent(ProductChangedEvent.of(pno));
+
+      catalogSnapshot.get(pno).setPname("바뀐 이름");
+      catalogSnapshot.getPageAfter(pno + 1, 1).get(0).setPrice(1);
+      catalogSnapshot.getPage(1, catalogSnapshot.size()).stream()
+          .filter(dto -> dto.getPno().equals(pno))
+          .forEach(dto -> dto.setImageUrl(null));
+
+      ProductDTO stored = catalogSnapshot.get(pno);
+      assertEquals("스냅샷테스트", stored.getPname());
+      assertEquals(3000, stored.getPrice());
+      assertEquals(List.of("SNAPSHOT.jpg"), stored.getUploadFileNames());
+      assertEquals("http://localhost:8080/api/products/view/SNAPSHOT.jpg", stored.getImageUrl());
+    } finally {
+      productRepository.deleteById(pno);
+      eventPublisher.publishEvent(ProductChangedEvent.of(pno));
+    }
+
+    assertNull(catalogSnapshot.get(pno));
+  }
+}
@@ -0,0 +1,106 @@
+package com.gifree.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import lombok.extern.log4j.Log4j2;
+
+@Log4j2
+public class ProductSearchIndexTests {
+
+  private static final String[] BRANDS = {"스타벅스", "투썸플레이스", "배스킨라빈스", "메가커피", "BHC", "도미노피자"};
+  private static final String[] NAMES = {"아메리카노", "카페라떼", "망고라떼", "티라미수 케이크", "뿌링클", "페퍼로니 피자"};
+
+  @Test
+  public void testSearch() {
+
+    ProductSearchIndex index = new ProductSearchIndex();
+
+    index.put(1L, "아메리카노 T", "스타벅스", "따뜻한 커피");
+    index.put(2L, "카페라떼", "스타벅스", "아메리카노보다 부드러운 라떼");
+    index.put(3L, "Apple Mango Cake", "투썸플레이스", "망고 케이크");
+
+    // 상품명 일치(3점)가 설명 일치(1점)보다 앞에 온다
+    assertEquals(List.of(1L, 2L), index.search("아메리카노"));
+
+    // 브랜드 검색은 pno 내림차순
+    assertEquals(List.of(2L, 1L), index.search("스타벅스"));
+
+    // 대소문자 무시, 한 글자 검색
+    assertEquals(List.of(3L), index.search("mango"));
+    assertEquals(List.of(3L), index.search("망"));
+    assertEquals(List.of(1L), index.search("커"));
+
+    // 조합형(NFD)으로 입력된 한글
+    assertEquals(List.of(2L, 1L), index.search(Normalizer.normalize("스타벅스", Normalizer.Form.NFD)));
+
+    // 수정/삭제 반영
+    index.put(1L, "콜드브루", "스타벅스", "시원한 커피");
+    assertEquals(List.of(2L), index.search("아메리카노"));
+
+    index.remove(2L);
+    assertEquals(List.of(), index.search("아메리카노"));
+    assertEquals(2, index.size());
+  }
+
+  // 10만 개 상품 기준, 기존 LIKE '%kw%' 와 같은 전체 순회 방식과 역색인 검색 비교
+  @Test
+  public void testSearchBenchmark() {
+
+    int total = 100_000;
+
+    ProductSearchIndex index = new ProductSearchIndex();
+    List<String[]> rows = new ArrayList<>(total);
+
+    for (int i = 0; i < total; i++) {
+      String brand = BRANDS[i % BRANDS.length];
+      String pname = NAMES[(i / BRANDS.length) % NAMES.length] + " " + i;
+      String pdesc = brand + " " + pname + " 기프티콘 상품설명 " + i;
+
+      rows.add(new String[]{pname, brand, pdesc});
+      index.put((long) i, pname, brand, pdesc);
+    }
+
+    String[] keywords = {"아메리카노", "메가커피", "케이크 9", "99999", "없는상품"};
+    int rounds = 20;
+
+    // JIT 워밍업
+    for (String keyword : keywords) {
+      index.search(keyword);
+    }
+
+    for (String keyword : keywords) {
+
+      long scanStart = System.nanoTime();
+      int scanCount = 0;
+      for (int r = 0; r < rounds; r++) {
+        scanCount = 0;
+        for (String[] row : rows) {
+          if (row[0].contains(keyword) || row[1].contains(keyword) || row[2].contains(keyword)) {
+            scanCount++;
+          }
+        }
+      }
+      long scanMicros = (System.nanoTime() - scanStart) / 1000 / rounds;
+
+      long indexStart = System.nanoTime();
+      int indexCount = 0;
+      for (int r = 0; r < rounds; r++) {
+        indexCount = index.search(keyword).size();
+      }
+      long indexMicros = (System.nanoTime() - indexStart) / 1000 / rounds;
+
+      log.info("keyword: {}, hits: {}, full scan: {}us, index: {}us", keyword, indexCount, scanMicros, indexMicros);
+
+      assertEquals(scanCount, indexCount);
+    }
+
+    assertTrue(index.search("99999").contains(99999L));
+  }
+}
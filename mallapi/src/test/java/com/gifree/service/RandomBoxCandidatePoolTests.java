@@ -0,0 +1,64 @@
+package com.gifree.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import lombok.extern.log4j.Log4j2;
+
+@Log4j2
+public class RandomBoxCandidatePoolTests {
+
+  @Test
+  public void testPutRemovePick() {
+
+    RandomBoxCandidatePool pool = new RandomBoxCandidatePool();
+
+    assertNull(pool.pick());
+
+    for (long pno = 1; pno <= 100; pno++) {
+      // 짝수 번호만 10,000원 이하
+      pool.put(pno, pno % 2 == 0 ? 5000 : 20000);
+    }
+    assertEquals(50, pool.size());
+
+    // 가격이 올라 후보에서 빠지는 경우
+    pool.put(2L, 15000);
+    // 이미 있는 상품을 다시 넣어도 한 번만
+    pool.put(4L, 3000);
+    assertEquals(49, pool.size());
+
+    for (long pno = 6; pno <= 100; pno += 2) {
+      pool.remove(pno);
+    }
+    assertEquals(1, pool.size());
+    assertEquals(4L, pool.pick());
+
+    pool.remove(4L);
+    assertNull(pool.pick());
+  }
+
+  @Test
+  public void testPickCoversAll() {
+
+    RandomBoxCandidatePool pool = new RandomBoxCandidatePool();
+    for (long pno = 1; pno <= 10; pno++) {
+      pool.put(pno, 1000);
+    }
+
+    Set<Long> picked = new HashSet<>();
+    for (int i = 0; i < 1000; i++) {
+      Long pno = pool.pick();
+      assertTrue(pno >= 1 && pno <= 10);
+      picked.add(pno);
+    }
+    log.info("picked: " + picked);
+
+    assertEquals(10, picked.size());
+  }
+}
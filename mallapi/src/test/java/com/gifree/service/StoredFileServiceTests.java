@@ -0,0 +1,115 @@
+package com.gifree.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.gifree.domain.StoredFile;
+import com.gifree.dto.ProductDTO;
+import com.gifree.repository.StoredFileRepository;
+import com.gifree.util.CustomFileUtil;
+
+import lombok.extern.log4j.Log4j2;
+
+@SpringBootTest
+@Log4j2
+public class StoredFileServiceTests {
+
+  @Autowired
+  CustomFileUtil fileUtil;
+
+  @Autowired
+  ProductService productService;
+
+  @Autowired
+  StoredFileRepository storedFileRepository;
+
+  @Value("${com.gifree.upload.path}")
+  String uploadPath;
+
+  // 같은 내용을 다른 이름으로 여러 번 올려도 sha256 이름의 파일 하나만 저장
+  @Test
+  public void testDeduplicatedUpload() throws Exception {
+
+    byte[] content = UUID.randomUUID().toString().getBytes();
+    String sha256 = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+
+    List<String> saved = fileUtil.saveFiles(List.of(
+        new MockMultipartFile("files", "a.txt", "text/plain", content),
+        new MockMultipartFile("files", "b.TXT", "text/plain", content)));
+
+    try {
+      log.info("saved: " + saved);
+      assertEquals(List.of(sha256 + ".txt", sha256 + ".txt"), saved);
+      assertTrue(Files.exists(Paths.get(uploadPath, saved.get(0))));
+
+      StoredFile storedFile = storedFileRepository.findById(saved.get(0)).orElseThrow();
+      assertEquals(content.length, storedFile.getSize());
+      assertEquals(0, storedFile.getRefCount());
+
+      // 업로드 직후에는 참조가 없어도 지우지 않음
+      fileUtil.deleteFiles(saved);
+      assertTrue(Files.exists(Paths.get(uploadPath, saved.get(0))));
+    } finally {
+      storedFileRepository.deleteById(saved.get(0));
+      fileUtil.deleteFiles(saved.subList(0, 1));
+    }
+  }
+
+  // 여러 상품이 같은 파일을 참조하면 마지막 참조가 없어질 때 파일과 등록 정보를 삭제
+  @Test
+  public void testReferenceCount() throws Exception {
+
+    String fileName = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+        .digest(UUID.randomUUID().toString().getBytes())) + ".jpg";
+    Path path = Paths.get(uploadPath, fileName);
+    Files.createDirectories(path.getParent());
+    Files.write(path, new byte[] {1, 2, 3});
+
+    // 업로드 유예 시간이 지난 파일
+    storedFileRepository.save(StoredFile.builder()
+        .fileName(fileName).sha256(fileName.substring(0, 64)).size(3)
+        .uploadedAt(LocalDateTime.now().minusDays(1))
+        .build());
+
+    Long pno1 = register(fileName);
+    Long pno2 = register(fileName);
+    assertEquals(2, storedFileRepository.findById(fileName).orElseThrow().getRefCount());
+
+    // 이미지를 바꿔도 다른 상품이 참조하고 있으면 유지
+    ProductDTO product = productService.get(pno1);
+    product.setUploadFileNames(List.of());
+    productService.modify(product);
+    assertEquals(1, storedFileRepository.findById(fileName).orElseThrow().getRefCount());
+    assertTrue(Files.exists(path));
+
+    productService.remove(pno2);
+    assertFalse(storedFileRepository.existsById(fileName));
+    assertFalse(Files.exists(path));
+
+    productService.remove(pno1);
+  }
+
+  private Long register(String fileName) {
+    return productService.register(ProductDTO.builder()
+        .pname("파일공유테스트").brand("테스트").price(1000).pdesc("참조 수 테스트")
+        .uploadFileNames(new ArrayList<>(List.of(fileName)))
+        .build());
+  }
+}
@@ -0,0 +1,106 @@
+package com.gifree.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import com.gifree.domain.Event;
+import com.gifree.dto.ProductDTO;
+import com.gifree.repository.EventRepository;
+
+import lombok.extern.log4j.Log4j2;
+
+@SpringBootTest
+@Log4j2
+public class UploadGarbageCollectorTests {
+
+  @Autowired
+  UploadGarbageCollector uploadGarbageCollector;
+
+  @Autowired
+  ProductService productService;
+
+  @Autowired
+  EventRepository eventRepository;
+
+  @Value("${com.gifree.upload.path}")
+  String uploadPath;
+
+  // 참조가 없는 오래된 파일, 끊긴 업로드의 임시 파일, 원본이 없는 썸네일만 지우고 참조 중이거나 최근 파일은 남김
+  @Autowired
+  ThreadPoolTaskScheduler taskScheduler;
+
+  // 정리 작업이 도는 동안에도 주문 후속 작업 폴링과 대사 작업이 밀리지 않도록 @Scheduled 작업마다 스레드가 있음
+  @Test
+  public void testSchedulerPool() {
+    assertEquals(3, taskScheduler.getScheduledThreadPoolExecutor().getCorePoolSize());
+  }
+
+  @Test
+  public void testCollect() throws Exception {
+
+    String prefix = UUID.randomUUID().toString();
+
+    Path orphan = write(prefix + "_orphan.jpg", 1000, true);
+    Path orphanThumbnail = write("s_" + prefix + "_orphan.jpg", 100, true);
+    Path temp = write("tmp_" + prefix, 500, true);
+    Path danglingThumbnail = write("s_" + prefix + "_gone.jpg", 100, true);
+    Path recent = write(prefix + "_recent.jpg", 1000, false);
+    Path productImage = write(prefix + "_product.jpg", 1000, true);
+    Path eventImage = write(prefix + "_event.jpg", 1000, true);
+
+    Long pno = productService.register(ProductDTO.builder()
+        .pname("정리테스트").brand("테스트").price(1000).pdesc("업로드 정리")
+        .uploadFileNames(new ArrayList<>(List.of(productImage.getFileName().toString())))
+        .build());
+    Event event = eventRepository.save(Event.builder()
+        .title("정리테스트").imageUrl(eventImage.getFileName().toString()).build());
+
+    UploadGarbageCollector.Report report = uploadGarbageCollector.collect();
+    log.info("report: " + report);
+
+    assertTrue(report.deleted() >= 3);
+    assertTrue(report.reclaimedBytes() >= 1700);
+
+    assertFalse(Files.exists(orphan));
+    assertFalse(Files.exists(orphanThumbnail));
+    assertFalse(Files.exists(temp));
+    assertFalse(Files.exists(danglingThumbnail));
+
+    assertTrue(Files.exists(recent));
+    assertTrue(Files.exists(productImage));
+    assertTrue(Files.exists(eventImage));
+
+    productService.remove(pno);
+    eventRepository.delete(event);
+    for (Path path : List.of(recent, productImage, eventImage)) {
+      Files.deleteIfExists(path);
+    }
+  }
+
+  private Path write(String fileName, int size, boolean old) throws Exception {
+    Path path = Paths.get(uploadPath, fileName);
+    Files.createDirectories(path.getParent());
+    Files.write(path, new byte[size]);
+    if (old) {
+      Files.setLastModifiedTime(path, FileTime.from(Instant.now().minus(Duration.ofDays(1))));
+    }
+    return path;
+  }
+}
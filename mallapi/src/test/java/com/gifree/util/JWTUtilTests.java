@@ -0,0 +1,102 @@
+package com.gifree.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import javax.crypto.SecretKey;
+
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.log4j.Log4j2;
+
+@Log4j2
+public class JWTUtilTests {
+
+  static final String SECRET_A = "1234567890123456789012345678901234567890";
+  static final String SECRET_B = "abcdefghijabcdefghijabcdefghijabcdefghij";
+
+  // 키를 바꿔도 이전 kid 로 발급한 토큰과 kid 없는 예전 토큰은 통과, 모르는 kid 는 거부
+  @Test
+  public void testKeyRotation() {
+
+    JWTUtil before = new JWTUtil("k0", SECRET_A, SECRET_A, "");
+    JWTUtil after = new JWTUtil("k1", SECRET_B, SECRET_A, "k0:" + SECRET_A);
+
+    String oldToken = before.generateToken(Map.of("email", "user1@aaa.com"), 10);
+    String newToken = after.generateToken(Map.of("email", "user2@aaa.com"), 10);
+
+    assertEquals("user1@aaa.com", after.validateToken(oldToken).get("email"));
+    assertEquals("user2@aaa.com", after.validateToken(newToken).get("email"));
+    assertEquals("user3@aaa.com", after.validateToken(legacyToken(Map.of("email", "user3@aaa.com"))).get("email"));
+
+    // 새 키는 이전 서버가 모름
+    assertThrows(CustomJWTException.class, () -> before.validateToken(newToken));
+
+    String expired = after.generateToken(Map.of("email", "user1@aaa.com"), -1);
+    assertEquals("Expired JWT token",
+        assertThrows(CustomJWTException.class, () -> after.validateToken(expired)).getMessage());
+  }
+
+  // 요청마다 키와 파서를 만들던 방식과 미리 만든 파서를 재사용하는 방식의 결과가 같은지 확인하고 초당 검증 수를 기록
+  // (실행 시간 비교는 머신 부하에 따라 달라지므로 단언하지 않고 로그로만 남김)
+  @Test
+  public void testValidationThroughput() {
+
+    JWTUtil jwtUtil = new JWTUtil("k1", SECRET_A, SECRET_A, "");
+    String token = jwtUtil.generateToken(Map.of(
+        "email", "user1@aaa.com", "nickname", "user1", "social", false, "roleNames", List.of("USER")), 60);
+
+    assertEquals(legacyValidate(token), jwtUtil.validateToken(token));
+
+    // 워밍업
+    measure(() -> legacyValidate(token), 300);
+    measure(() -> jwtUtil.validateToken(token), 300);
+
+    double legacy = measure(() -> legacyValidate(token), 1000);
+    double cached = measure(() -> jwtUtil.validateToken(token), 1000);
+
+    log.info(String.format("validations/sec - per-call key & parser: %.0f, cached: %.0f (x%.2f)",
+        legacy, cached, cached / legacy));
+  }
+
+  private static double measure(Runnable validation, long millis) {
+    long count = 0;
+    long start = System.nanoTime();
+    long end = start + millis * 1_000_000;
+    long now;
+    do {
+      for (int i = 0; i < 100; i++) {
+        validation.run();
+      }
+      count += 100;
+      now = System.nanoTime();
+    } while (now < end);
+    return count * 1_000_000_000.0 / (now - start);
+  }
+
+  // 변경 전 JWTUtil.validateToken
+  private static Map<String, Object> legacyValidate(String token) {
+    SecretKey key = Keys.hmacShaKeyFor(SECRET_A.getBytes(StandardCharsets.UTF_8));
+    return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+  }
+
+  // 변경 전 JWTUtil.generateToken (kid 없음)
+  private static String legacyToken(Map<String, Object> claims) {
+    ZonedDateTime now = ZonedDateTime.now();
+    return Jwts.builder()
+        .setHeader(Map.of("typ", "JWT"))
+        .setClaims(claims)
+        .setIssuedAt(Date.from(now.toInstant()))
+        .setExpiration(Date.from(now.plusMinutes(10).toInstant()))
+        .signWith(Keys.hmacShaKeyFor(SECRET_A.getBytes(StandardCharsets.UTF_8)))
+        .compact();
+  }
+}